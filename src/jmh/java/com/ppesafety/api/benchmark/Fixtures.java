@@ -0,0 +1,141 @@
+package com.ppesafety.api.benchmark;
+
+import com.ppesafety.api.user.dto.EmployeeEntry;
+import com.ppesafety.api.user.entity.Role;
+import com.ppesafety.api.user.entity.User;
+import com.ppesafety.api.user.repository.UserRepository;
+import com.ppesafety.api.user.service.EmployeeDirectory;
+import com.ppesafety.api.violation.entity.Violation;
+import com.ppesafety.api.violation.repository.ViolationRepository;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Deterministic in-memory data and repository stand-ins, so benchmarks measure
+ * application code rather than a database.
+ */
+final class Fixtures {
+
+    static final List<List<String>> LABEL_SETS = List.of(
+            List.of("No Helmet"),
+            List.of("No Vest"),
+            List.of("No Helmet", "No Vest"),
+            List.of("Person", "No Helmet"),
+            List.of("Head", "No Helmet", "Vest"));
+
+    final List<User> employees;
+    final List<Violation> violations;
+
+    Fixtures(int employeeCount, int violationCount) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        employees = new ArrayList<>(employeeCount);
+        for (long id = 1; id <= employeeCount; id++) {
+            employees.add(User.builder()
+                    .id(id)
+                    .username("employee" + id)
+                    .password("{noop}password")
+                    .email("employee" + id + "@ppesafety.local")
+                    .fullName("Employee " + id)
+                    .role(Role.ROLE_EMPLOYEE)
+                    .createdAt(now.minusDays(365))
+                    .build());
+        }
+
+        User reporter = User.builder().id(0L).username("specialist").fullName("Safety Specialist")
+                .role(Role.ROLE_SAFETY_SPECIALIST).build();
+        violations = new ArrayList<>(violationCount);
+        for (long id = 1; id <= violationCount; id++) {
+            violations.add(Violation.builder()
+                    .id(id)
+                    .imageUrl("/uploads/ab/cd/abcd" + id + ".jpg")
+                    .labels(LABEL_SETS.get(random.nextInt(LABEL_SETS.size())))
+                    .employee(employees.get(random.nextInt(employeeCount)))
+                    .reportedBy(reporter)
+                    .location("Zone " + (char) ('A' + random.nextInt(6)))
+                    .timestamp(now.minusMinutes(random.nextInt(60 * 24 * 28)))
+                    .build());
+        }
+    }
+
+    UserRepository userRepository() {
+        List<EmployeeEntry> entries = employees.stream().map(EmployeeEntry::of).toList();
+        return stub(UserRepository.class, Map.of(
+                "findAllDirectoryEntries", args -> entries,
+                "findDirectoryEntryById", args -> Optional.empty()));
+    }
+
+    EmployeeDirectory employeeDirectory() {
+        EmployeeDirectory directory = new EmployeeDirectory(userRepository(), new StringRedisTemplate(),
+                new RedisMessageListenerContainer());
+        directory.reload();
+        return directory;
+    }
+
+    /**
+     * Answers are precomputed (every violation lies within the last 30 days),
+     * so calls cost a lookup and benchmarks see only the service's own work.
+     */
+    ViolationRepository violationRepository() {
+        Map<Long, List<Violation>> byEmployee = violations.stream()
+                .collect(Collectors.groupingBy(v -> v.getEmployee().getId()));
+        List<Object[]> labelMaskCounts = violations.stream()
+                .collect(Collectors.groupingBy(Violation::getLabelMask, Collectors.counting()))
+                .entrySet().stream()
+                .map(e -> new Object[] {e.getKey(), e.getValue()})
+                .toList();
+        List<Object[]> dailyLabelMaskCounts = violations.stream()
+                .collect(Collectors.groupingBy(v -> List.of(v.getTimestamp().toLocalDate(), v.getLabelMask()),
+                        Collectors.counting()))
+                .entrySet().stream()
+                .map(e -> new Object[] {e.getKey().get(0), e.getKey().get(1), e.getValue()})
+                .toList();
+        List<Object[]> violatorCounts = byEmployee.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<Long, List<Violation>> e) -> e.getValue().size())
+                        .reversed())
+                .map(e -> new Object[] {e.getKey(), (long) e.getValue().size()})
+                .toList();
+
+        Map<String, Function<Object[], Object>> methods = new HashMap<>();
+        methods.put("count", args -> (long) violations.size());
+        methods.put("countByTimestampBetween", args -> (long) violations.size());
+        // The report sorts this list in place, as it would a fresh query result
+        methods.put("findByEmployeeId", args -> new ArrayList<>(byEmployee.getOrDefault(args[0], List.of())));
+        methods.put("countByEmployeeId", args -> (long) byEmployee.getOrDefault(args[0], List.of()).size());
+        methods.put("countByEmployeeIdAndTimestampBetween",
+                args -> (long) byEmployee.getOrDefault(args[0], List.of()).size());
+        methods.put("findLabelMaskCountsByTimeRange", args -> labelMaskCounts);
+        methods.put("findDailyLabelMaskCounts", args -> dailyLabelMaskCounts);
+        methods.put("findTopViolatorsByTimeRange",
+                args -> violatorCounts.subList(0, Math.min((Integer) args[2], violatorCounts.size())));
+        methods.put("findEmployeeCounts", args -> {
+            long count = byEmployee.getOrDefault(args[0], List.of()).size();
+            return List.<Object[]>of(new Object[] {count, count, count});
+        });
+        return stub(ViolationRepository.class, methods);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+            Function<Object[], Object> handler = methods.get(method.getName());
+            if (handler == null) {
+                throw new UnsupportedOperationException(type.getSimpleName() + "." + method.getName());
+            }
+            return handler.apply(args);
+        });
+    }
+}
@@ -0,0 +1,47 @@
+package com.ppesafety.api.benchmark;
+
+import com.ppesafety.api.config.JwtTokenProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token work done on login (generate) and on every authenticated request
+ * (validate, then read the subject).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret", "benchmark-secret-key-that-is-at-least-256-bits-long");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpiration", 86_400_000L);
+        token = tokenProvider.generateToken("specialist");
+    }
+
+    @Benchmark
+    public String generate() {
+        return tokenProvider.generateToken("specialist");
+    }
+
+    @Benchmark
+    public boolean validate() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public String authenticateRequest() {
+        // What JwtAuthenticationFilter does per request
+        return tokenProvider.validateToken(token) ? tokenProvider.getUsernameFromToken(token) : null;
+    }
+}
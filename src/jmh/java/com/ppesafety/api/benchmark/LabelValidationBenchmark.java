@@ -0,0 +1,43 @@
+package com.ppesafety.api.benchmark;
+
+import com.ppesafety.api.core.exception.BadRequestException;
+import com.ppesafety.api.violation.service.ViolationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LabelValidationBenchmark {
+
+    private final List<String> typical = List.of("Person", "No Helmet");
+    private final List<String> allLabels = List.copyOf(ViolationService.ALLOWED_LABELS);
+    private final List<String> invalid = List.of("Person", "No Gloves");
+
+    @Benchmark
+    public List<String> validTypical() {
+        ViolationService.validateLabels(typical);
+        return typical;
+    }
+
+    @Benchmark
+    public List<String> validAllLabels() {
+        ViolationService.validateLabels(allLabels);
+        return allLabels;
+    }
+
+    @Benchmark
+    public Object rejected() {
+        try {
+            ViolationService.validateLabels(invalid);
+            return null;
+        } catch (BadRequestException e) {
+            return e;
+        }
+    }
+}
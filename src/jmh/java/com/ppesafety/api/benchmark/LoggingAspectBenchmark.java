@@ -0,0 +1,92 @@
+package com.ppesafety.api.benchmark;
+
+import ch.qos.logback.classic.Level;
+import com.ppesafety.api.audit.service.AuditTrail;
+import com.ppesafety.api.core.aspect.LoggingAspect;
+import com.ppesafety.api.core.aspect.TracingSettings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of the method timing advice: a proxied controller calling
+ * a proxied service twice, i.e. three advised calls, with logging at INFO.
+ * {@code none} is the unproxied baseline and {@code pre-rework} the advice
+ * before sampled tracing. Run with {@code -prof gc} for allocation per request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+    @Param({"none", "pre-rework", "tracing-off", "sampled-1pct"})
+    public String aspect;
+
+    private ReportController controller;
+
+    @Setup
+    public void setUp() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.INFO);
+        // Sampled traces are still rendered, but not written to the console
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger("com.ppesafety.api.trace")).setLevel(Level.WARN);
+
+        MeterRegistry registry = new SimpleMeterRegistry();
+        Object advice = switch (aspect) {
+            case "none" -> null;
+            case "pre-rework" -> new PreReworkLoggingAspect(registry);
+            default -> new LoggingAspect(registry,
+                    new TracingSettings(aspect.equals("sampled-1pct"), 0.01, 128),
+                    new AuditTrail(new JdbcTemplate(), registry, 16), Duration.ofSeconds(1));
+        };
+        controller = advise(new ReportController(advise(new ReportService(), advice)), advice);
+    }
+
+    @Benchmark
+    public long request() {
+        return controller.report(42L);
+    }
+
+    private static <T> T advise(T target, Object aspect) {
+        if (aspect == null) {
+            return target;
+        }
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        return factory.getProxy();
+    }
+
+    @RestController
+    public static class ReportController {
+
+        private final ReportService service;
+
+        public ReportController(ReportService service) {
+            this.service = service;
+        }
+
+        public long report(long id) {
+            return service.find(id) + service.find(id + 1);
+        }
+    }
+
+    @Service
+    public static class ReportService {
+
+        public long find(long id) {
+            return id * 31;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.ppesafety.api.benchmark;
+
+import com.ppesafety.api.user.dto.UserDto;
+import com.ppesafety.api.user.entity.User;
+import com.ppesafety.api.user.mapper.UserMapperImpl;
+import com.ppesafety.api.violation.dto.ViolationDto;
+import com.ppesafety.api.violation.entity.Violation;
+import com.ppesafety.api.violation.mapper.ViolationMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    private ViolationMapperImpl violationMapper;
+    private UserMapperImpl userMapper;
+    private Violation violation;
+    private List<Violation> violationPage;
+    private User user;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        Fixtures fixtures = new Fixtures(200, 1000);
+        violationMapper = new ViolationMapperImpl();
+        ReflectionTestUtils.setField(violationMapper, "employeeDirectory", fixtures.employeeDirectory());
+        userMapper = new UserMapperImpl();
+
+        violation = fixtures.violations.get(0);
+        violationPage = fixtures.violations.subList(0, 50);
+        user = fixtures.employees.get(0);
+        users = fixtures.employees;
+    }
+
+    @Benchmark
+    public ViolationDto violationToDto() {
+        return violationMapper.toDto(violation);
+    }
+
+    @Benchmark
+    public List<ViolationDto> violationPageToDtos() {
+        return violationMapper.toDtoList(violationPage);
+    }
+
+    @Benchmark
+    public UserDto userToDto() {
+        return userMapper.toDto(user);
+    }
+
+    @Benchmark
+    public List<UserDto> usersToDtos() {
+        return userMapper.toDtoList(users);
+    }
+}
@@ -0,0 +1,95 @@
+package com.ppesafety.api.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The timing advice of LoggingAspect as it was before sampled call tracing,
+ * kept as the "before" side of {@link LoggingAspectBenchmark}: it renders the
+ * signature and user on every call and looks timers up by tags.
+ */
+@Aspect
+public class PreReworkLoggingAspect {
+
+    private static final Logger logger = LoggerFactory.getLogger(PreReworkLoggingAspect.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<TimerKey, Timer> timers = new ConcurrentHashMap<>();
+    private final Duration slowCallThreshold = Duration.ofSeconds(1);
+
+    public PreReworkLoggingAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(@org.springframework.stereotype.Service *) "
+            + "|| within(@org.springframework.web.bind.annotation.RestController *)")
+    public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
+        long startTime = System.nanoTime();
+        String methodName = joinPoint.getSignature().toShortString();
+        String username = getCurrentUsername();
+
+        logger.debug("User [{}] executing: {} with args: {}",
+                username, methodName, Arrays.toString(joinPoint.getArgs()));
+
+        try {
+            Object result = joinPoint.proceed();
+            long elapsed = System.nanoTime() - startTime;
+            timer(joinPoint, "success").record(elapsed, TimeUnit.NANOSECONDS);
+
+            long executionTime = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            if (executionTime > slowCallThreshold.toMillis()) {
+                logger.warn("SLOW: {} executed by [{}] in {}ms", methodName, username, executionTime);
+            } else {
+                logger.debug("{} executed by [{}] in {}ms", methodName, username, executionTime);
+            }
+
+            return result;
+        } catch (Throwable throwable) {
+            long elapsed = System.nanoTime() - startTime;
+            timer(joinPoint, "error").record(elapsed, TimeUnit.NANOSECONDS);
+
+            logger.error("FAILED: {} executed by [{}] in {}ms with error: {}",
+                    methodName, username, TimeUnit.NANOSECONDS.toMillis(elapsed), throwable.getMessage());
+            throw throwable;
+        }
+    }
+
+    private Timer timer(ProceedingJoinPoint joinPoint, String outcome) {
+        Class<?> type = joinPoint.getSignature().getDeclaringType();
+        String method = joinPoint.getSignature().getName();
+        return timers.computeIfAbsent(new TimerKey(type, method, outcome), key -> Timer.builder("ppesafety.method")
+                .tag("layer", type.isAnnotationPresent(RestController.class) ? "controller" : "service")
+                .tag("class", type.getSimpleName())
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry));
+    }
+
+    private String getCurrentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()) {
+            return authentication.getName();
+        }
+        return "anonymous";
+    }
+
+    private record TimerKey(Class<?> type, String method, String outcome) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.ppesafety.api.benchmark;
+
+import com.ppesafety.api.config.RedisConfig;
+import com.ppesafety.api.statistics.dto.EmployeeRanking;
+import com.ppesafety.api.statistics.dto.TimeSeriesStats;
+import com.ppesafety.api.statistics.service.StatisticsService;
+import com.ppesafety.api.user.service.EmployeeDirectory;
+import com.ppesafety.api.violation.dto.ViolationDto;
+import com.ppesafety.api.violation.mapper.ViolationMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round trip through the JSON serializer RedisConfig sets up for cached values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    private RedisSerializer<Object> serializer;
+    private EmployeeRanking ranking;
+    private TimeSeriesStats timeSeries;
+    private List<ViolationDto> violations;
+    private byte[] rankingBytes;
+    private byte[] timeSeriesBytes;
+    private byte[] violationsBytes;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        // The factory is never started; only the template's serializer is used
+        serializer = (RedisSerializer<Object>) new RedisConfig()
+                .redisTemplate(new LettuceConnectionFactory())
+                .getValueSerializer();
+
+        Fixtures fixtures = new Fixtures(200, 5000);
+        EmployeeDirectory directory = fixtures.employeeDirectory();
+        ViolationMapperImpl mapper = new ViolationMapperImpl();
+        ReflectionTestUtils.setField(mapper, "employeeDirectory", directory);
+        StatisticsService statisticsService = new StatisticsService(fixtures.violationRepository(), directory,
+                mapper, 4);
+
+        ranking = statisticsService.getEmployeeRanking(10);
+        timeSeries = statisticsService.getTimeSeriesStats(30);
+        violations = mapper.toDtoList(fixtures.violations.subList(0, 50));
+        rankingBytes = serializer.serialize(ranking);
+        timeSeriesBytes = serializer.serialize(timeSeries);
+        violationsBytes = serializer.serialize(violations);
+    }
+
+    @Benchmark
+    public byte[] serializeRanking() {
+        return serializer.serialize(ranking);
+    }
+
+    @Benchmark
+    public Object deserializeRanking() {
+        return serializer.deserialize(rankingBytes);
+    }
+
+    @Benchmark
+    public byte[] serializeTimeSeries() {
+        return serializer.serialize(timeSeries);
+    }
+
+    @Benchmark
+    public Object deserializeTimeSeries() {
+        return serializer.deserialize(timeSeriesBytes);
+    }
+
+    @Benchmark
+    public Object roundTripViolationPage() {
+        return serializer.deserialize(serializer.serialize(violations));
+    }
+
+    @Benchmark
+    public Object deserializeViolationPage() {
+        return serializer.deserialize(violationsBytes);
+    }
+}
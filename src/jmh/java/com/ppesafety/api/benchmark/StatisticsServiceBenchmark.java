@@ -0,0 +1,63 @@
+package com.ppesafety.api.benchmark;
+
+import com.ppesafety.api.statistics.dto.DashboardStats;
+import com.ppesafety.api.statistics.dto.EmployeeRanking;
+import com.ppesafety.api.statistics.dto.EmployeeViolationReport;
+import com.ppesafety.api.statistics.dto.TimeSeriesStats;
+import com.ppesafety.api.statistics.service.StatisticsService;
+import com.ppesafety.api.user.service.EmployeeDirectory;
+import com.ppesafety.api.violation.mapper.ViolationMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory aggregation done by StatisticsService on cache misses, with the
+ * repository answering instantly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatisticsServiceBenchmark {
+
+    @Param({"200"})
+    public int employees;
+
+    @Param({"1000", "20000"})
+    public int violations;
+
+    private StatisticsService statisticsService;
+
+    @Setup
+    public void setUp() {
+        Fixtures fixtures = new Fixtures(employees, violations);
+        EmployeeDirectory directory = fixtures.employeeDirectory();
+        ViolationMapperImpl mapper = new ViolationMapperImpl();
+        ReflectionTestUtils.setField(mapper, "employeeDirectory", directory);
+        statisticsService = new StatisticsService(fixtures.violationRepository(), directory, mapper, 4);
+    }
+
+    @Benchmark
+    public DashboardStats dashboard() {
+        return statisticsService.getDashboardStats();
+    }
+
+    @Benchmark
+    public TimeSeriesStats timeSeries30Days() {
+        return statisticsService.getTimeSeriesStats(30);
+    }
+
+    @Benchmark
+    public EmployeeRanking ranking() {
+        return statisticsService.getEmployeeRanking(10);
+    }
+
+    @Benchmark
+    public EmployeeViolationReport employeeReport() {
+        return statisticsService.getEmployeeViolationReport(1L);
+    }
+}
@@ -0,0 +1,213 @@
+package com.ppesafety.api.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The application started as a separate process (JVM or native executable)
+ * against {@link StandIns}, for measurements that need a cold start.
+ *
+ * Ready time runs from launching the process until the health endpoint
+ * answers; RSS is sampled at that moment.
+ */
+final class AppProcess implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppProcess.class);
+
+    private static final Pattern STARTED = Pattern.compile("Started \\S+ in ([0-9.]+) seconds");
+
+    private final Process process;
+    private final Thread reader;
+    private final int port;
+    private final long readyMillis;
+    private final double springSeconds;
+    private final long rssKb;
+
+    private AppProcess(Process process, Thread reader, int port, long readyMillis, double springSeconds,
+            long rssKb) {
+        this.process = process;
+        this.reader = reader;
+        this.port = port;
+        this.readyMillis = readyMillis;
+        this.springSeconds = springSeconds;
+        this.rssKb = rssKb;
+    }
+
+    /**
+     * Starts {@code launcher} (e.g. {@code java -jar app.jar} or the native
+     * executable) with the stand-in connection settings plus {@code arguments},
+     * and waits until it serves requests.
+     */
+    static AppProcess start(List<String> launcher, Path directory, StandIns standIns, List<String> arguments,
+            Duration timeout) throws IOException, InterruptedException {
+        int port = freePort();
+        List<String> command = new ArrayList<>(launcher);
+        for (String argument : standIns.applicationArguments()) {
+            if (!argument.startsWith("--server.port=")) {
+                command.add(argument);
+            }
+        }
+        command.add("--server.port=" + port);
+        // The Redis stand-in mishandles several channel subscriptions made at once
+        command.add("--rate-limit.enabled=false");
+        command.add("--logging.level.com.ppesafety=INFO");
+        command.add("--logging.level.org.hibernate.SQL=WARN");
+        command.addAll(arguments);
+
+        ProcessBuilder builder = new ProcessBuilder(command).redirectErrorStream(true);
+        if (directory != null) {
+            builder.directory(directory.toFile());
+        }
+
+        long startedAt = System.nanoTime();
+        Process process = builder.start();
+        CompletableFuture<Double> springSeconds = new CompletableFuture<>();
+        Thread reader = Thread.ofVirtual().start(() -> drain(process, springSeconds));
+        try {
+            awaitReady(process, port, timeout);
+            long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            long rssKb = rssKb(process.pid());
+            // The startup line may trail the first health response by a few milliseconds
+            double seconds = springSeconds.completeOnTimeout(Double.NaN, 1, TimeUnit.SECONDS).join();
+            return new AppProcess(process, reader, port, readyMillis, seconds, rssKb);
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            stop(process, reader);
+            throw e;
+        }
+    }
+
+    URI baseUri() {
+        return URI.create("http://localhost:" + port);
+    }
+
+    long readyMillis() {
+        return readyMillis;
+    }
+
+    /**
+     * Startup time reported by Spring Boot, NaN if it was not logged.
+     */
+    double springSeconds() {
+        return springSeconds;
+    }
+
+    /**
+     * Resident set size when the application became ready, -1 where /proc is unavailable.
+     */
+    long rssKb() {
+        return rssKb;
+    }
+
+    long currentRssKb() {
+        return rssKb(process.pid());
+    }
+
+    @Override
+    public void close() {
+        try {
+            stop(process, reader);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void stop(Process process, Thread reader) throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+        reader.join();
+    }
+
+    private static void awaitReady(Process process, int port, Duration timeout)
+            throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health"))
+                .timeout(Duration.ofSeconds(2))
+                .build();
+        try (HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build()) {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IOException("Application exited with " + process.exitValue() + " during startup");
+                }
+                try {
+                    // Any answer counts: readiness of the backing services is not what is measured
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    return;
+                } catch (IOException e) {
+                    Thread.sleep(10);
+                }
+            }
+        }
+        throw new IOException("Application not ready within " + timeout);
+    }
+
+    private static void drain(Process process, CompletableFuture<Double> springSeconds) {
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (matcher.find()) {
+                    springSeconds.complete(Double.parseDouble(matcher.group(1)));
+                } else if (line.contains("ERROR") || line.contains("[cds]")) {
+                    logger.warn("{}", line);
+                }
+            }
+        } catch (IOException e) {
+            // Expected once the process has been stopped: destroy() closes its output before it exits
+            if (!exits(process)) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static boolean exits(Process process) {
+        try {
+            return process.waitFor(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return true;
+        }
+    }
+
+    private static long rssKb(long pid) {
+        try {
+            for (String line : Files.readAllLines(Path.of("/proc", Long.toString(pid), "status"))) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.replaceAll("\\D", ""));
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            // Not Linux
+        }
+        return -1;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
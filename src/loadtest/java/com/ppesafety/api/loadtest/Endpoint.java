@@ -0,0 +1,64 @@
+package com.ppesafety.api.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Endpoints driven by the load test, grouped into traffic classes that share
+ * a configured arrival rate. Latency is reported and budgeted per endpoint.
+ */
+enum Endpoint {
+
+    LOGIN("login", Traffic.LOGIN, "POST /api/auth/login"),
+    INGEST("ingest", Traffic.INGEST, "POST /api/violations"),
+    DASHBOARD("dashboard", Traffic.DASHBOARD, "GET /api/statistics/dashboard"),
+    TIME_SERIES("time-series", Traffic.DASHBOARD, "GET /api/statistics/time-series"),
+    RANKING("ranking", Traffic.DASHBOARD, "GET /api/statistics/ranking"),
+    EMPLOYEE_VIOLATIONS("employee-violations", Traffic.LISTING, "GET /api/violations/employee/{id}"),
+    DATE_RANGE("date-range", Traffic.LISTING, "GET /api/violations/date-range"),
+    EMPLOYEE_REPORT("employee-report", Traffic.LISTING, "GET /api/statistics/employee/{id}/report");
+
+    private final String key;
+    private final Traffic traffic;
+    private final String description;
+
+    Endpoint(String key, Traffic traffic, String description) {
+        this.key = key;
+        this.traffic = traffic;
+        this.description = description;
+    }
+
+    String key() {
+        return key;
+    }
+
+    Traffic traffic() {
+        return traffic;
+    }
+
+    String description() {
+        return description;
+    }
+
+    enum Traffic {
+        LOGIN("login"),
+        INGEST("ingest"),
+        DASHBOARD("dashboard"),
+        LISTING("listing");
+
+        private final String key;
+
+        Traffic(String key) {
+            this.key = key;
+        }
+
+        String key() {
+            return key;
+        }
+
+        Endpoint[] endpoints() {
+            return Arrays.stream(Endpoint.values())
+                    .filter(endpoint -> endpoint.traffic == this)
+                    .toArray(Endpoint[]::new);
+        }
+    }
+}
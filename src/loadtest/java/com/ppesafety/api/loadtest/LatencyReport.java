@@ -0,0 +1,144 @@
+package com.ppesafety.api.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-endpoint latency histograms and error counts for the measured phase,
+ * rendered as a table and checked against the configured budgets.
+ *
+ * Latency runs from the request's scheduled start, not from when it was
+ * actually sent, so a stalled server shows up as queueing delay instead of
+ * silently lowering the offered load.
+ */
+final class LatencyReport {
+
+    private static final long MAX_LATENCY_MICROS = 120_000_000L;
+    private static final String[] PERCENTILES = {"p50", "p90", "p95", "p99", "p999"};
+    private static final double[] PERCENTILE_VALUES = {50, 90, 95, 99, 99.9};
+
+    private final Map<Endpoint, Histogram> histograms = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> dropped = new EnumMap<>(Endpoint.class);
+    private volatile long measuredNanos;
+
+    LatencyReport() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            histograms.put(endpoint, new ConcurrentHistogram(MAX_LATENCY_MICROS, 3));
+            errors.put(endpoint, new LongAdder());
+            dropped.put(endpoint, new LongAdder());
+        }
+    }
+
+    void record(Endpoint endpoint, long latencyNanos, boolean success) {
+        histograms.get(endpoint).recordValue(Math.min(MAX_LATENCY_MICROS, Math.max(0, latencyNanos / 1000)));
+        if (!success) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    /**
+     * Counts a request that was never sent because too many were already in flight.
+     */
+    void drop(Endpoint endpoint) {
+        dropped.get(endpoint).increment();
+    }
+
+    void measuredFor(long nanos) {
+        this.measuredNanos = nanos;
+    }
+
+    String render() {
+        double seconds = measuredNanos / 1e9;
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-40s %8s %7s %7s %9s", "endpoint", "requests", "errors", "dropped",
+                "req/s"));
+        for (String percentile : PERCENTILES) {
+            out.append(String.format(Locale.ROOT, " %9s", percentile + " ms"));
+        }
+        out.append(String.format(Locale.ROOT, " %9s%n", "max ms"));
+
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = histograms.get(endpoint);
+            if (histogram.getTotalCount() == 0 && dropped.get(endpoint).sum() == 0) {
+                continue;
+            }
+            out.append(String.format(Locale.ROOT, "%-40s %8d %7d %7d %9.1f", endpoint.description(),
+                    histogram.getTotalCount(), errors.get(endpoint).sum(), dropped.get(endpoint).sum(),
+                    seconds > 0 ? histogram.getTotalCount() / seconds : 0));
+            for (double percentile : PERCENTILE_VALUES) {
+                out.append(String.format(Locale.ROOT, " %9.1f", millis(histogram.getValueAtPercentile(percentile))));
+            }
+            out.append(String.format(Locale.ROOT, " %9.1f%n", millis(histogram.getMaxValue())));
+        }
+        return out.toString();
+    }
+
+    void writeCsv(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("endpoint,requests,errors,dropped,p50_ms,p90_ms,p95_ms,p99_ms,p999_ms,max_ms");
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = histograms.get(endpoint);
+            StringBuilder line = new StringBuilder(endpoint.key())
+                    .append(',').append(histogram.getTotalCount())
+                    .append(',').append(errors.get(endpoint).sum())
+                    .append(',').append(dropped.get(endpoint).sum());
+            for (double percentile : PERCENTILE_VALUES) {
+                line.append(',').append(String.format(Locale.ROOT, "%.3f",
+                        millis(histogram.getValueAtPercentile(percentile))));
+            }
+            line.append(',').append(String.format(Locale.ROOT, "%.3f", millis(histogram.getMaxValue())));
+            lines.add(line.toString());
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines);
+    }
+
+    /**
+     * Returns one message per exceeded budget; empty when the run passes.
+     */
+    List<String> violations(LoadTestSettings settings) {
+        List<String> failures = new ArrayList<>();
+        long total = 0;
+        long failed = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = histograms.get(endpoint);
+            total += histogram.getTotalCount() + dropped.get(endpoint).sum();
+            failed += errors.get(endpoint).sum() + dropped.get(endpoint).sum();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                OptionalDouble budget = settings.budget(endpoint, PERCENTILES[i]);
+                double actual = millis(histogram.getValueAtPercentile(PERCENTILE_VALUES[i]));
+                if (budget.isPresent() && actual > budget.getAsDouble()) {
+                    failures.add(String.format(Locale.ROOT, "%s %s %.1f ms exceeds budget of %.1f ms",
+                            endpoint.description(), PERCENTILES[i], actual, budget.getAsDouble()));
+                }
+            }
+        }
+        double errorRate = total > 0 ? (double) failed / total : 0;
+        if (errorRate > settings.maxErrorRate()) {
+            failures.add(String.format(Locale.ROOT, "Error rate %.2f%% exceeds budget of %.2f%%",
+                    errorRate * 100, settings.maxErrorRate() * 100));
+        }
+        return failures;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -0,0 +1,279 @@
+package com.ppesafety.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model traffic generator: each traffic class sends requests at its
+ * configured rate on a fixed schedule, regardless of how quickly earlier
+ * requests complete, picking endpoints of the class in turn.
+ */
+final class LoadDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadDriver.class);
+
+    private static final List<List<String>> LABEL_SETS = List.of(
+            List.of("Person", "No Helmet"),
+            List.of("Person", "No Vest"),
+            List.of("Person", "No Helmet", "No Vest"),
+            List.of("Head", "No Helmet"));
+    private static final List<String> LOCATIONS = List.of(
+            "Production Floor A", "Warehouse B", "Loading Dock", "Assembly Line 1");
+
+    private final URI baseUri;
+    private final LoadTestSettings settings;
+    private final List<Employee> employees;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+    private final List<byte[]> images;
+    private final Semaphore inFlight;
+    private String token;
+    private String readToken;
+
+    record Employee(long id, String username) {
+    }
+
+    LoadDriver(URI baseUri, LoadTestSettings settings, List<Employee> employees) {
+        this.baseUri = baseUri;
+        this.settings = settings;
+        this.employees = employees;
+        this.inFlight = new Semaphore(settings.maxInFlight());
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(settings.requestTimeout())
+                .executor(executor)
+                .build();
+        this.images = generateImages(settings.imagePool(), new SplittableRandom(settings.seed()));
+    }
+
+    /**
+     * Logs in as the seeded safety specialist, who ingests, and the seeded
+     * admin, who reads; reads by the ingesting user would always stay on the
+     * primary (read-your-writes) when a replica is configured.
+     */
+    void authenticate() throws IOException, InterruptedException {
+        token = accessToken("specialist", "spec123");
+        readToken = accessToken("admin", "admin123");
+    }
+
+    private String accessToken(String username, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(login(username, password), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login as " + username + " failed: " + response.statusCode() + " "
+                    + response.body());
+        }
+        return objectMapper.readTree(response.body()).path("data").path("accessToken").asText();
+    }
+
+    /**
+     * Runs every traffic class at its configured rate for the given duration,
+     * recording into {@code report} (or discarding, for warm-up).
+     */
+    void run(Duration duration, LatencyReport report) throws InterruptedException {
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        List<Thread> schedulers = new ArrayList<>();
+        for (Endpoint.Traffic traffic : Endpoint.Traffic.values()) {
+            double rate = settings.rate(traffic);
+            if (rate <= 0) {
+                continue;
+            }
+            long seed = settings.seed() * 31 + traffic.ordinal();
+            schedulers.add(Thread.ofPlatform().name("loadtest-" + traffic.key())
+                    .start(() -> schedule(traffic, rate, start, end, new SplittableRandom(seed), report)));
+        }
+        for (Thread scheduler : schedulers) {
+            scheduler.join();
+        }
+        // Let in-flight requests finish so they count toward this phase
+        long timeout = settings.requestTimeout().toMillis() + 1000;
+        if (inFlight.tryAcquire(settings.maxInFlight(), timeout, TimeUnit.MILLISECONDS)) {
+            inFlight.release(settings.maxInFlight());
+        }
+        if (report != null) {
+            report.measuredFor(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Sends one request to the endpoint and returns the response, for smoke tests.
+     */
+    HttpResponse<String> probe(Endpoint endpoint) throws IOException, InterruptedException {
+        return client.send(request(endpoint, new SplittableRandom(settings.seed())),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    void close() {
+        executor.shutdownNow();
+    }
+
+    private void schedule(Endpoint.Traffic traffic, double rate, long start, long end, SplittableRandom random,
+            LatencyReport report) {
+        Endpoint[] endpoints = traffic.endpoints();
+        long interval = (long) (1_000_000_000L / rate);
+        for (long n = 0; ; n++) {
+            long intended = start + n * interval;
+            if (intended >= end) {
+                return;
+            }
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Endpoint endpoint = endpoints[(int) (n % endpoints.length)];
+            HttpRequest request = request(endpoint, random.split());
+            if (!inFlight.tryAcquire()) {
+                if (report != null) {
+                    report.drop(endpoint);
+                }
+                continue;
+            }
+            executor.execute(() -> {
+                try {
+                    boolean success = send(endpoint, request);
+                    if (report != null) {
+                        report.record(endpoint, System.nanoTime() - intended, success);
+                    }
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private boolean send(Endpoint endpoint, HttpRequest request) {
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            int status = response.statusCode();
+            if (status >= 200 && status < 300) {
+                return true;
+            }
+            logger.debug("{} returned {}: {}", endpoint.description(), status, response.body());
+            return false;
+        } catch (IOException e) {
+            logger.debug("{} failed: {}", endpoint.description(), e.toString());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint, SplittableRandom random) {
+        Employee employee = employees.get(random.nextInt(employees.size()));
+        return switch (endpoint) {
+            case LOGIN -> login(employee.username(), "emp123");
+            case INGEST -> ingest(employee, random);
+            case DASHBOARD -> get("/api/statistics/dashboard");
+            case TIME_SERIES -> get("/api/statistics/time-series?days=30");
+            case RANKING -> get("/api/statistics/ranking?limit=10");
+            case EMPLOYEE_VIOLATIONS -> get("/api/violations/employee/" + employee.id());
+            case DATE_RANGE -> {
+                LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+                yield get("/api/violations/date-range?start=" + now.minusHours(24) + "&end=" + now);
+            }
+            case EMPLOYEE_REPORT -> get("/api/statistics/employee/" + employee.id() + "/report");
+        };
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(settings.requestTimeout())
+                .header("Authorization", "Bearer " + readToken)
+                .GET()
+                .build();
+    }
+
+    private HttpRequest login(String username, String password) {
+        String body = "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}";
+        return HttpRequest.newBuilder(baseUri.resolve("/api/auth/login"))
+                .timeout(settings.requestTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest ingest(Employee employee, SplittableRandom random) {
+        String boundary = "loadtest-" + UUID.randomUUID();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        for (String label : LABEL_SETS.get(random.nextInt(LABEL_SETS.size()))) {
+            field(body, boundary, "labels", label);
+        }
+        field(body, boundary, "employeeId", Long.toString(employee.id()));
+        field(body, boundary, "location", LOCATIONS.get(random.nextInt(LOCATIONS.size())));
+        write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"image\"; filename=\"frame.jpg\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n");
+        body.writeBytes(images.get(random.nextInt(images.size())));
+        write(body, "\r\n--" + boundary + "--\r\n");
+
+        return HttpRequest.newBuilder(baseUri.resolve("/api/violations"))
+                .timeout(settings.requestTimeout())
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                .build();
+    }
+
+    private static void field(ByteArrayOutputStream body, String boundary, String name, String value) {
+        write(body, "--" + boundary + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n");
+    }
+
+    private static void write(ByteArrayOutputStream body, String text) {
+        body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Camera-sized JPEG frames of random blocks, distinct enough that frame
+     * deduplication treats each as a new scene.
+     */
+    private static List<byte[]> generateImages(int count, SplittableRandom random) {
+        List<byte[]> images = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            BufferedImage image = new BufferedImage(1280, 720, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = image.createGraphics();
+            for (int block = 0; block < 40; block++) {
+                graphics.setColor(new Color(random.nextInt(0x1000000)));
+                graphics.fillRect(random.nextInt(1280), random.nextInt(720), 64 + random.nextInt(512),
+                        64 + random.nextInt(360));
+            }
+            graphics.dispose();
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                ImageIO.write(image, "jpg", out);
+                images.add(out.toByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return images;
+    }
+}
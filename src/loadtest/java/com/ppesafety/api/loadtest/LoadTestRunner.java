@@ -0,0 +1,82 @@
+package com.ppesafety.api.loadtest;
+
+import com.ppesafety.api.PpeSafetyApplication;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application against {@link StandIns}, warms it up, drives the
+ * configured traffic mix and prints per-endpoint throughput and latency.
+ * Exits non-zero when a latency or error budget is exceeded.
+ */
+public final class LoadTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestRunner.class);
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.load(args);
+        List<String> failures;
+
+        try (StandIns standIns = StandIns.start();
+             ReplicaStandIn replica = settings.replica() ? ReplicaStandIn.start() : null) {
+            List<String> arguments = new ArrayList<>(standIns.applicationArguments());
+            if (replica != null) {
+                arguments.addAll(replica.applicationArguments());
+            }
+            arguments.addAll(settings.applicationArguments());
+
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(PpeSafetyApplication.class)
+                    .run(arguments.toArray(String[]::new));
+            LoadDriver driver = null;
+            try {
+                if (replica != null) {
+                    // The application has migrated the schema by now; until the copy is done the replica lags
+                    replica.follow(standIns, settings.startupTimeout());
+                }
+                int port = Integer.parseInt(context.getEnvironment().getRequiredProperty("local.server.port"));
+                List<LoadDriver.Employee> employees = new JdbcTemplate(standIns.dataSource()).query(
+                        "SELECT id, username FROM users WHERE role = 'ROLE_EMPLOYEE' ORDER BY id",
+                        (rs, row) -> new LoadDriver.Employee(rs.getLong("id"), rs.getString("username")));
+                logger.info("Application started on port {} with {} employees", port, employees.size());
+
+                driver = new LoadDriver(URI.create("http://localhost:" + port), settings, employees);
+                driver.authenticate();
+
+                logger.info("Warming up for {}", settings.warmup());
+                driver.run(settings.warmup(), null);
+
+                logger.info("Measuring for {}", settings.duration());
+                LatencyReport report = new LatencyReport();
+                driver.run(settings.duration(), report);
+
+                System.out.println();
+                System.out.println(report.render());
+                report.writeCsv(Path.of(settings.reportFile()));
+                failures = report.violations(settings);
+            } finally {
+                if (driver != null) {
+                    driver.close();
+                }
+                context.close();
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.out.println("BUDGET EXCEEDED: " + failure));
+            System.exit(1);
+        }
+        System.out.println("All latency budgets met");
+        System.exit(0);
+    }
+}
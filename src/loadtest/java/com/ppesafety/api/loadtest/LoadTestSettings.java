@@ -0,0 +1,164 @@
+package com.ppesafety.api.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalDouble;
+import java.util.Properties;
+
+/**
+ * Settings from {@code loadtest.properties}, overridden by {@code -Dloadtest.*}
+ * system properties and then by {@code key=value} program arguments (keys
+ * without the {@code loadtest.} prefix). Keys under {@code loadtest.app.} are
+ * passed to the application as command line arguments.
+ */
+final class LoadTestSettings {
+
+    private static final String PREFIX = "loadtest.";
+    private static final String APP_PREFIX = PREFIX + "app.";
+
+    private final Properties properties;
+
+    private LoadTestSettings(Properties properties) {
+        this.properties = properties;
+    }
+
+    static LoadTestSettings load(String[] args) {
+        Properties properties = new Properties();
+        try (InputStream in = LoadTestSettings.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read loadtest.properties", e);
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(PREFIX))
+                .forEach(name -> properties.setProperty(name, System.getProperty(name)));
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            properties.setProperty(PREFIX + arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestSettings(properties);
+    }
+
+    Duration duration() {
+        return duration("duration", "60s");
+    }
+
+    Duration warmup() {
+        return duration("warmup", "15s");
+    }
+
+    Duration requestTimeout() {
+        return duration("request-timeout", "10s");
+    }
+
+    long seed() {
+        return Long.parseLong(get("seed", "42"));
+    }
+
+    int maxInFlight() {
+        return Integer.parseInt(get("max-in-flight", "512"));
+    }
+
+    /**
+     * Whether to run against a logically replicated second database as read replica.
+     */
+    boolean replica() {
+        return Boolean.parseBoolean(get("replica", "false"));
+    }
+
+    int imagePool() {
+        return Integer.parseInt(get("image-pool", "64"));
+    }
+
+    /**
+     * Requests per second for a traffic class; 0 disables it.
+     */
+    double rate(Endpoint.Traffic traffic) {
+        return Double.parseDouble(get("rate." + traffic.key(), "0"));
+    }
+
+    /**
+     * Latency budget in milliseconds for an endpoint percentile, e.g. {@code budget.dashboard.p99}.
+     */
+    OptionalDouble budget(Endpoint endpoint, String percentile) {
+        String value = properties.getProperty(PREFIX + "budget." + endpoint.key() + "." + percentile);
+        return value == null || value.isBlank() ? OptionalDouble.empty() : OptionalDouble.of(Double.parseDouble(value));
+    }
+
+    double maxErrorRate() {
+        return Double.parseDouble(get("max-error-rate", "0.01"));
+    }
+
+    String reportFile() {
+        return get("report-file", "target/loadtest-report.csv");
+    }
+
+    /**
+     * Cold starts per variant in the startup benchmark.
+     */
+    int startupRuns() {
+        return Integer.parseInt(get("startup.runs", "5"));
+    }
+
+    Duration startupTimeout() {
+        return duration("startup.timeout", "120s");
+    }
+
+    String startupProfiles() {
+        return get("startup.profiles", "prod");
+    }
+
+    /**
+     * Executable jar built by the default lifecycle.
+     */
+    String startupJar() {
+        return get("startup.jar", "target/ppe-safety-api-1.0.0.jar");
+    }
+
+    /**
+     * Output directory of the faststart profile, and the thin jar in it.
+     */
+    String startupFaststartDir() {
+        return get("startup.faststart-dir", "target/faststart");
+    }
+
+    String startupFaststartJar() {
+        return get("startup.faststart-jar", "ppe-safety-api-1.0.0-faststart.jar");
+    }
+
+    /**
+     * Executable built by the native profile.
+     */
+    String nativeImage() {
+        return get("native.image", "target/ppe-safety-api");
+    }
+
+    List<String> applicationArguments() {
+        List<String> arguments = new ArrayList<>();
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(APP_PREFIX)) {
+                arguments.add("--" + name.substring(APP_PREFIX.length()) + "=" + properties.getProperty(name));
+            }
+        }
+        return arguments;
+    }
+
+    private Duration duration(String key, String defaultValue) {
+        return DurationStyle.detectAndParse(get(key, defaultValue));
+    }
+
+    private String get(String key, String defaultValue) {
+        return properties.getProperty(PREFIX + key, defaultValue).trim();
+    }
+}
@@ -0,0 +1,119 @@
+package com.ppesafety.api.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Starts the native executable against {@link StandIns} and sends one
+ * request to every load test endpoint, the dashboard twice so the second
+ * answer comes back through the Redis cache serializer. The JVM jar then
+ * goes through the same steps for comparison.
+ *
+ * Exits non-zero if the native executable fails to start or any request fails.
+ */
+public final class NativeSmokeTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(NativeSmokeTest.class);
+
+    private record Result(String build, long readyMillis, long rssKb, long rssAfterKb, List<String> failures) {
+    }
+
+    private NativeSmokeTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.load(args);
+        Path nativeImage = Path.of(settings.nativeImage()).toAbsolutePath();
+        Path jar = Path.of(settings.startupJar()).toAbsolutePath();
+        if (!Files.isExecutable(nativeImage)) {
+            System.out.println("Missing " + nativeImage + ", build with mvn -P native,loadtest verify");
+            System.exit(2);
+        }
+
+        List<Result> results = new ArrayList<>();
+        try (StandIns standIns = StandIns.start()) {
+            // The native executable goes first, so it also runs the migrations and seeding
+            results.add(exercise("native", List.of(nativeImage.toString()), standIns, settings));
+            if (Files.exists(jar)) {
+                String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+                results.add(exercise("jvm", List.of(java, "-jar", jar.toString()), standIns, settings));
+            }
+        }
+
+        System.out.println();
+        System.out.println(String.format(Locale.ROOT, "%-8s %10s %12s %16s %9s", "build", "ready ms", "rss ready MB",
+                "rss after req MB", "failures"));
+        for (Result result : results) {
+            System.out.println(String.format(Locale.ROOT, "%-8s %10d %12d %16d %9d", result.build(),
+                    result.readyMillis(), result.rssKb() / 1024, result.rssAfterKb() / 1024, result.failures().size()));
+        }
+
+        List<String> failures = results.get(0).failures();
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.out.println("FAILED: " + failure));
+            System.exit(1);
+        }
+        System.out.println("Native executable passed the smoke test");
+        System.exit(0);
+    }
+
+    private static Result exercise(String build, List<String> launcher, StandIns standIns,
+            LoadTestSettings settings) throws Exception {
+        logger.info("Starting {} build", build);
+        try (AppProcess app = AppProcess.start(launcher, null, standIns,
+                List.of("--spring.profiles.active=" + settings.startupProfiles()), settings.startupTimeout())) {
+            List<LoadDriver.Employee> employees = seededEmployees(standIns, settings);
+            logger.info("{} build ready after {} ms with {} employees", build, app.readyMillis(), employees.size());
+
+            List<String> failures = new ArrayList<>();
+            LoadDriver driver = new LoadDriver(app.baseUri(), settings, employees);
+            try {
+                driver.authenticate();
+                for (Endpoint endpoint : Endpoint.values()) {
+                    check(driver, endpoint, failures);
+                }
+                check(driver, Endpoint.DASHBOARD, failures);
+            } catch (RuntimeException e) {
+                failures.add(e.getMessage());
+            } finally {
+                driver.close();
+            }
+            return new Result(build, app.readyMillis(), app.rssKb(), app.currentRssKb(), failures);
+        }
+    }
+
+    /**
+     * Seeding runs after the server already answers health checks, so wait for it.
+     */
+    private static List<LoadDriver.Employee> seededEmployees(StandIns standIns, LoadTestSettings settings)
+            throws InterruptedException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(standIns.dataSource());
+        long deadline = System.nanoTime() + settings.startupTimeout().toNanos();
+        while (true) {
+            List<LoadDriver.Employee> employees = jdbcTemplate.query(
+                    "SELECT id, username FROM users WHERE role = 'ROLE_EMPLOYEE' ORDER BY id",
+                    (rs, row) -> new LoadDriver.Employee(rs.getLong("id"), rs.getString("username")));
+            if (!employees.isEmpty() || System.nanoTime() > deadline) {
+                return employees;
+            }
+            Thread.sleep(200);
+        }
+    }
+
+    private static void check(LoadDriver driver, Endpoint endpoint, List<String> failures) throws Exception {
+        HttpResponse<String> response = driver.probe(endpoint);
+        if (response.statusCode() >= 200 && response.statusCode() < 300) {
+            logger.info("{}: {}", endpoint.description(), response.statusCode());
+        } else {
+            failures.add(endpoint.description() + " returned " + response.statusCode() + ": " + response.body());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.ppesafety.api.loadtest;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A second ephemeral PostgreSQL that follows the {@link StandIns} database
+ * through logical replication, standing in for a read replica.
+ *
+ * The embedded binaries cannot take a base backup, so the replica starts
+ * empty and {@link #follow} copies the table definitions from the primary
+ * once the application has migrated it, then subscribes to all tables.
+ * Partitioned tables are published through their root and arrive in a plain
+ * table of the same name, so partitions added later need no setup.
+ */
+final class ReplicaStandIn implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaStandIn.class);
+
+    private static final String PUBLICATION = "loadtest_publication";
+    private static final String SUBSCRIPTION = "loadtest_subscription";
+
+    private static final String TABLES = """
+            SELECT format('CREATE TABLE %I (%s)', c.relname,
+                          string_agg(format('%I %s', a.attname, format_type(a.atttypid, a.atttypmod)), ', '
+                                     ORDER BY a.attnum))
+            FROM pg_class c
+            JOIN pg_attribute a ON a.attrelid = c.oid AND a.attnum > 0 AND NOT a.attisdropped
+            WHERE c.relnamespace = 'public'::regnamespace AND c.relkind IN ('r', 'p') AND NOT c.relispartition
+            GROUP BY c.relname""";
+    private static final String CONSTRAINTS = """
+            SELECT format('ALTER TABLE %I ADD CONSTRAINT %I %s', t.relname, k.conname, pg_get_constraintdef(k.oid))
+            FROM pg_constraint k
+            JOIN pg_class t ON t.oid = k.conrelid
+            WHERE t.relnamespace = 'public'::regnamespace AND k.contype IN ('p', 'u') AND NOT t.relispartition""";
+    private static final String INDEXES = """
+            SELECT replace(i.indexdef, ' ON ONLY ', ' ON ') FROM pg_indexes i
+            JOIN pg_class t ON t.relname = i.tablename AND t.relnamespace = 'public'::regnamespace
+            WHERE i.schemaname = 'public' AND NOT t.relispartition
+              AND NOT EXISTS (SELECT 1 FROM pg_constraint k WHERE k.conname = i.indexname)""";
+
+    private final EmbeddedPostgres postgres;
+
+    private ReplicaStandIn(EmbeddedPostgres postgres) {
+        this.postgres = postgres;
+    }
+
+    static ReplicaStandIn start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                .setServerConfig("max_connections", "200")
+                .setServerConfig("shared_buffers", "256MB")
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                .start();
+        logger.info("Replica stand-in started: PostgreSQL on port {}", postgres.getPort());
+        return new ReplicaStandIn(postgres);
+    }
+
+    DataSource dataSource() {
+        return postgres.getPostgresDatabase();
+    }
+
+    /**
+     * Connection settings for the application, as command line arguments.
+     */
+    List<String> applicationArguments() {
+        return List.of(
+                "--replica.servers[0].name=stand-in",
+                "--replica.servers[0].url=" + postgres.getJdbcUrl("postgres", "postgres"));
+    }
+
+    /**
+     * Recreates the primary's tables and starts replicating into them; returns
+     * once the initial copy of every table is done.
+     */
+    void follow(StandIns primary, Duration timeout) throws InterruptedException {
+        JdbcTemplate source = new JdbcTemplate(primary.dataSource());
+        JdbcTemplate replica = new JdbcTemplate(dataSource());
+        for (String query : List.of(TABLES, CONSTRAINTS, INDEXES)) {
+            source.queryForList(query, String.class).forEach(replica::execute);
+        }
+        source.execute("CREATE PUBLICATION " + PUBLICATION + " FOR ALL TABLES WITH (publish_via_partition_root)");
+        replica.execute("CREATE SUBSCRIPTION " + SUBSCRIPTION + " CONNECTION 'host=localhost port="
+                + primary.postgresPort() + " user=postgres dbname=postgres' PUBLICATION " + PUBLICATION);
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (true) {
+            Integer pending = replica.queryForObject(
+                    "SELECT count(*) FROM pg_subscription_rel WHERE srsubstate <> 'r'", Integer.class);
+            if (pending != null && pending == 0) {
+                logger.info("Replica stand-in caught up with the initial copy");
+                return;
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Replica stand-in still copying " + pending + " tables after "
+                        + timeout);
+            }
+            Thread.sleep(500);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        postgres.close();
+    }
+}
@@ -0,0 +1,82 @@
+package com.ppesafety.api.loadtest;
+
+import com.github.fppt.jedismock.RedisServer;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Local replacements for the production backing services: an ephemeral
+ * PostgreSQL (real server binaries, throwaway data directory) and an
+ * in-process Redis-protocol server.
+ */
+final class StandIns implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StandIns.class);
+
+    private final EmbeddedPostgres postgres;
+    private final RedisServer redis;
+    private final Path uploadDir;
+
+    private StandIns(EmbeddedPostgres postgres, RedisServer redis, Path uploadDir) {
+        this.postgres = postgres;
+        this.redis = redis;
+        this.uploadDir = uploadDir;
+    }
+
+    static StandIns start() throws IOException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder()
+                // Production-like settings; durability is irrelevant for a throwaway database
+                .setServerConfig("max_connections", "200")
+                .setServerConfig("shared_buffers", "256MB")
+                .setServerConfig("fsync", "off")
+                .setServerConfig("synchronous_commit", "off")
+                // Lets ReplicaStandIn subscribe to the tables
+                .setServerConfig("wal_level", "logical")
+                .start();
+        RedisServer redis = RedisServer.newRedisServer(0).start();
+        Path uploadDir = Files.createTempDirectory("ppesafety-loadtest-uploads");
+        logger.info("Stand-ins started: PostgreSQL on port {}, Redis on port {}", postgres.getPort(),
+                redis.getBindPort());
+        return new StandIns(postgres, redis, uploadDir);
+    }
+
+    DataSource dataSource() {
+        return postgres.getPostgresDatabase();
+    }
+
+    int postgresPort() {
+        return postgres.getPort();
+    }
+
+    /**
+     * Connection settings for the application, as command line arguments.
+     */
+    List<String> applicationArguments() {
+        return List.of(
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.data.redis.host=" + redis.getHost(),
+                "--spring.data.redis.port=" + redis.getBindPort(),
+                "--file.upload-dir=" + uploadDir,
+                "--file.storage.type=local",
+                "--server.port=0");
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            redis.stop();
+        } finally {
+            postgres.close();
+        }
+    }
+}
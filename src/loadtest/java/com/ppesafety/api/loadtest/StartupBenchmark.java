@@ -0,0 +1,131 @@
+package com.ppesafety.api.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares cold starts of the regular executable jar and the faststart build
+ * (Spring AOT plus a class data sharing archive), with and without the schema
+ * checks, against {@link StandIns}. The native executable is included when it
+ * has been built.
+ *
+ * Every run is a fresh process, and variants are interleaved so machine noise
+ * spreads evenly over them.
+ */
+public final class StartupBenchmark {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupBenchmark.class);
+
+    private static final String CDS_ARCHIVE = "app.jsa";
+
+    private enum Variant {
+        JAR("jar", false),
+        JAR_SKIP_SCHEMA("jar, schema skipped", true),
+        AOT("aot, schema skipped", true),
+        AOT_CDS("aot + cds, schema skipped", true),
+        NATIVE("native, schema skipped", true);
+
+        final String label;
+        final boolean skipSchema;
+
+        Variant(String label, boolean skipSchema) {
+            this.label = label;
+            this.skipSchema = skipSchema;
+        }
+    }
+
+    private record Sample(long readyMillis, double springSeconds, long rssKb) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.load(args);
+        StartupBenchmark benchmark = new StartupBenchmark(settings);
+        for (Path required : List.of(benchmark.jar, benchmark.faststartDir.resolve(settings.startupFaststartJar()),
+                benchmark.faststartDir.resolve(CDS_ARCHIVE))) {
+            if (!Files.exists(required)) {
+                System.out.println("Missing " + required + ", build with mvn -P faststart,loadtest verify");
+                System.exit(2);
+            }
+        }
+        List<Variant> variants = new ArrayList<>(List.of(Variant.values()));
+        if (!Files.isExecutable(benchmark.nativeImage)) {
+            logger.info("No native executable at {}, skipping that variant", benchmark.nativeImage);
+            variants.remove(Variant.NATIVE);
+        }
+
+        Map<Variant, List<Sample>> samples = new EnumMap<>(Variant.class);
+        try (StandIns standIns = StandIns.start()) {
+            // Creates the schema and seed data, so every measured run finds the same database
+            logger.info("Preparing database");
+            benchmark.start(Variant.JAR, standIns).close();
+
+            for (int run = 1; run <= settings.startupRuns(); run++) {
+                for (Variant variant : variants) {
+                    try (AppProcess app = benchmark.start(variant, standIns)) {
+                        logger.info("Run {} {}: ready after {} ms", run, variant.label, app.readyMillis());
+                        samples.computeIfAbsent(variant, ignored -> new ArrayList<>())
+                                .add(new Sample(app.readyMillis(), app.springSeconds(), app.rssKb()));
+                    }
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println(render(samples));
+        System.exit(0);
+    }
+
+    private final LoadTestSettings settings;
+    private final Path jar;
+    private final Path faststartDir;
+    private final Path nativeImage;
+
+    private StartupBenchmark(LoadTestSettings settings) {
+        this.settings = settings;
+        this.jar = Path.of(settings.startupJar()).toAbsolutePath();
+        this.faststartDir = Path.of(settings.startupFaststartDir()).toAbsolutePath();
+        this.nativeImage = Path.of(settings.nativeImage()).toAbsolutePath();
+    }
+
+    private AppProcess start(Variant variant, StandIns standIns) throws IOException, InterruptedException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        List<String> launcher = switch (variant) {
+            case JAR, JAR_SKIP_SCHEMA -> List.of(java, "-jar", jar.toString());
+            case AOT -> List.of(java, "-Dspring.aot.enabled=true", "-jar", settings.startupFaststartJar());
+            // -Xshare:on fails instead of silently measuring a run without the archive
+            case AOT_CDS -> List.of(java, "-Xshare:on", "-XX:SharedArchiveFile=" + CDS_ARCHIVE,
+                    "-Dspring.aot.enabled=true", "-jar", settings.startupFaststartJar());
+            case NATIVE -> List.of(nativeImage.toString());
+        };
+        // The CDS archive records the class path relative to the faststart directory
+        Path directory = variant == Variant.AOT || variant == Variant.AOT_CDS ? faststartDir : null;
+        return AppProcess.start(launcher, directory, standIns, List.of(
+                "--spring.profiles.active=" + settings.startupProfiles(),
+                "--schema.skip-when-current=" + variant.skipSchema), settings.startupTimeout());
+    }
+
+    private static String render(Map<Variant, List<Sample>> samples) {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%-28s %5s %11s %11s %11s %11s %10s%n", "variant", "runs",
+                "ready p50", "ready min", "ready max", "spring p50", "rss p50"));
+        for (Map.Entry<Variant, List<Sample>> entry : samples.entrySet()) {
+            List<Sample> runs = entry.getValue();
+            long[] ready = runs.stream().mapToLong(Sample::readyMillis).sorted().toArray();
+            double[] spring = runs.stream().mapToDouble(Sample::springSeconds).sorted().toArray();
+            long[] rss = runs.stream().mapToLong(Sample::rssKb).sorted().toArray();
+            out.append(String.format(Locale.ROOT, "%-28s %5d %8d ms %8d ms %8d ms %9.2f s %7d MB%n",
+                    entry.getKey().label, runs.size(), ready[ready.length / 2], ready[0], ready[ready.length - 1],
+                    spring[spring.length / 2], rss[rss.length / 2] / 1024));
+        }
+        return out.toString();
+    }
+}
@@ -1,11 +1,14 @@
 package com.ppesafety.api;
 
+import com.ppesafety.api.config.NativeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableCaching
+@EnableScheduling
+@ImportRuntimeHints(NativeHints.class)
 public class PpeSafetyApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,44 @@
+package com.ppesafety.api.admin.controller;
+
+import com.ppesafety.api.admin.dto.DatabaseDiagnostics;
+import com.ppesafety.api.admin.service.DatabaseDiagnosticsService;
+import com.ppesafety.api.core.dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/diagnostics")
+@Tag(name = "Diagnostics", description = "Admin diagnostics and runtime switches")
+@SecurityRequirement(name = "Bearer Authentication")
+public class DiagnosticsController {
+
+    private final DatabaseDiagnosticsService databaseDiagnosticsService;
+
+    public DiagnosticsController(DatabaseDiagnosticsService databaseDiagnosticsService) {
+        this.databaseDiagnosticsService = databaseDiagnosticsService;
+    }
+
+    @GetMapping("/database")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get database diagnostics", description = "Returns Hibernate statistics, the slowest queries, SQL statements per repository method, recent N+1 warnings and connection pool state. Admin only.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Diagnostics retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ApiResponse<DatabaseDiagnostics>> getDatabaseDiagnostics() {
+        return ResponseEntity.ok(ApiResponse.success(databaseDiagnosticsService.getDiagnostics()));
+    }
+
+    @PostMapping("/database/reset")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reset database statistics", description = "Clears Hibernate statistics and recent N+1 warnings. Admin only.")
+    public ResponseEntity<ApiResponse<Void>> resetDatabaseDiagnostics() {
+        databaseDiagnosticsService.reset();
+        return ResponseEntity.ok(ApiResponse.success(null, "Database statistics reset"));
+    }
+}
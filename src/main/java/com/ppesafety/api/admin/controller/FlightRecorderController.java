@@ -0,0 +1,86 @@
+package com.ppesafety.api.admin.controller;
+
+import com.ppesafety.api.admin.dto.RecordingStatus;
+import com.ppesafety.api.admin.dto.StartRecordingRequest;
+import com.ppesafety.api.admin.service.FlightRecorderService;
+import com.ppesafety.api.core.dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@RestController
+@RequestMapping("/api/admin/jfr")
+@Tag(name = "Diagnostics", description = "Admin diagnostics and runtime switches")
+@SecurityRequirement(name = "Bearer Authentication")
+public class FlightRecorderController {
+
+    private final FlightRecorderService flightRecorderService;
+
+    public FlightRecorderController(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get recording status", description = "Returns the state of the application flight recording. Admin only.")
+    public ResponseEntity<ApiResponse<RecordingStatus>> getStatus() {
+        return ResponseEntity.ok(ApiResponse.success(flightRecorderService.status()));
+    }
+
+    @PostMapping("/start")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Start recording", description = "Starts a JFR recording with the JDK base settings plus the application events. Admin only.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Recording started"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "A recording is already running")
+    })
+    public ResponseEntity<ApiResponse<RecordingStatus>> start(
+            @RequestBody(required = false) StartRecordingRequest request) {
+        RecordingStatus status = request != null
+                ? flightRecorderService.start(request.getMaxAge(), request.getMaxSizeBytes())
+                : flightRecorderService.start(null, null);
+        return ResponseEntity.ok(ApiResponse.success(status, "Recording started"));
+    }
+
+    @PostMapping("/stop")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Stop recording", description = "Stops the running recording; its data can still be dumped. Admin only.")
+    public ResponseEntity<ApiResponse<RecordingStatus>> stop() {
+        return ResponseEntity.ok(ApiResponse.success(flightRecorderService.stop(), "Recording stopped"));
+    }
+
+    @GetMapping("/dump")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Download recording", description = "Downloads the data recorded so far as a .jfr file for JDK Mission Control. Admin only.")
+    public ResponseEntity<StreamingResponseBody> dump() {
+        Path file = flightRecorderService.dump();
+        String filename = "ppesafety-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+                + ".jfr";
+
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,121 @@
+package com.ppesafety.api.admin.controller;
+
+import com.ppesafety.api.admin.dto.RateLimitRuleStatus;
+import com.ppesafety.api.admin.dto.UpdateRateLimitRuleRequest;
+import com.ppesafety.api.core.dto.ApiResponse;
+import com.ppesafety.api.core.exception.BadRequestException;
+import com.ppesafety.api.core.exception.ResourceNotFoundException;
+import com.ppesafety.api.core.ratelimit.DistributedRateLimiter;
+import com.ppesafety.api.core.ratelimit.RateLimitProperties;
+import com.ppesafety.api.core.ratelimit.RateLimitRule;
+import com.ppesafety.api.core.ratelimit.RateLimitRules;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/rate-limits")
+@Tag(name = "Diagnostics", description = "Admin diagnostics and runtime switches")
+@SecurityRequirement(name = "Bearer Authentication")
+public class RateLimitController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitController.class);
+
+    private final RateLimitRules rateLimitRules;
+    private final DistributedRateLimiter rateLimiter;
+
+    public RateLimitController(RateLimitRules rateLimitRules, DistributedRateLimiter rateLimiter) {
+        this.rateLimitRules = rateLimitRules;
+        this.rateLimiter = rateLimiter;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "List rate limits", description = "Returns the active rate limit rules with this node's allowed/rejected counts. Admin only.")
+    public ResponseEntity<ApiResponse<List<RateLimitRuleStatus>>> getRateLimits() {
+        List<RateLimitRuleStatus> statuses = rateLimitRules.rules().stream().map(this::status).toList();
+        return ResponseEntity.ok(ApiResponse.success(statuses));
+    }
+
+    @PutMapping("/{name}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create or update a rate limit", description = "Changes a rule (or adds a new one) on every node at runtime. Admin only.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Rate limit updated"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid rule"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ApiResponse<RateLimitRuleStatus>> updateRateLimit(@PathVariable String name,
+            @Valid @RequestBody UpdateRateLimitRuleRequest request) {
+        RateLimitProperties.Rule current = rateLimitRules.definition(name).orElse(null);
+        RateLimitProperties.Rule definition = RateLimitProperties.Rule.builder()
+                .name(name)
+                .path(request.getPath() != null ? request.getPath() : current != null ? current.getPath() : null)
+                .methods(request.getMethods() != null ? request.getMethods()
+                        : current != null ? current.getMethods() : new ArrayList<>())
+                .key(request.getKey() != null ? request.getKey() : current != null ? current.getKey() : null)
+                .capacity(request.getCapacity() != null ? request.getCapacity()
+                        : current != null ? current.getCapacity() : 0)
+                .period(request.getPeriod() != null ? parsePeriod(request.getPeriod())
+                        : current != null ? current.getPeriod() : null)
+                .batch(request.getBatch() != null ? request.getBatch() : current != null ? current.getBatch() : null)
+                .enabled(request.getEnabled() != null ? request.getEnabled() : current == null || current.isEnabled())
+                .build();
+
+        RateLimitRule rule = rateLimitRules.save(definition);
+        logger.info("Rate limit {} set to {} per {} by {} on {} {}", name, rule.capacity(), rule.period(),
+                rule.key(), rule.methods().isEmpty() ? "*" : rule.methods(), rule.pattern().getPatternString());
+        return ResponseEntity.ok(ApiResponse.success(status(rule), "Rate limit updated"));
+    }
+
+    @DeleteMapping("/{name}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Reset a rate limit", description = "Drops the runtime override: configured rules revert to application.yml, rules added at runtime are removed. Admin only.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Override removed"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "404", description = "No override for this rule")
+    })
+    public ResponseEntity<ApiResponse<Void>> resetRateLimit(@PathVariable String name) {
+        if (!rateLimitRules.reset(name)) {
+            throw new ResourceNotFoundException("Rate limit override", name);
+        }
+        logger.info("Rate limit {} reset to configuration", name);
+        return ResponseEntity.ok(ApiResponse.success(null, "Rate limit override removed"));
+    }
+
+    private RateLimitRuleStatus status(RateLimitRule rule) {
+        return RateLimitRuleStatus.builder()
+                .name(rule.name())
+                .path(rule.pattern().getPatternString())
+                .methods(rule.methods().stream().sorted().toList())
+                .key(rule.key().name())
+                .capacity(rule.capacity())
+                .period(rule.period().toString())
+                .batch(rule.batch())
+                .enabled(rule.enabled())
+                .overridden(rateLimitRules.isOverridden(rule.name()))
+                .allowed(rateLimiter.allowed(rule.name()))
+                .rejected(rateLimiter.rejected(rule.name()))
+                .build();
+    }
+
+    private static Duration parsePeriod(String period) {
+        try {
+            return DurationStyle.detectAndParse(period);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid period: " + period);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.ppesafety.api.admin.controller;
+
+import com.ppesafety.api.admin.dto.TracingStatus;
+import com.ppesafety.api.admin.dto.UpdateTracingRequest;
+import com.ppesafety.api.core.aspect.TracingSettings;
+import com.ppesafety.api.core.dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/tracing")
+@Tag(name = "Diagnostics", description = "Admin diagnostics and runtime switches")
+@SecurityRequirement(name = "Bearer Authentication")
+public class TracingController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TracingController.class);
+
+    private final TracingSettings tracingSettings;
+
+    public TracingController(TracingSettings tracingSettings) {
+        this.tracingSettings = tracingSettings;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get tracing settings", description = "Returns the current call tracing switch and sample rate. Admin only.")
+    public ResponseEntity<ApiResponse<TracingStatus>> getTracing() {
+        return ResponseEntity.ok(ApiResponse.success(status()));
+    }
+
+    @PutMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Update tracing settings", description = "Turns sampled call tracing on or off and changes the sample rate at runtime. Admin only.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Tracing settings updated"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid sample rate"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ApiResponse<TracingStatus>> updateTracing(@Valid @RequestBody UpdateTracingRequest request) {
+        if (request.getEnabled() != null) {
+            tracingSettings.setEnabled(request.getEnabled());
+        }
+        if (request.getSampleRate() != null) {
+            tracingSettings.setSampleRate(request.getSampleRate());
+        }
+        logger.info("Tracing set to enabled={} sampleRate={}", tracingSettings.isEnabled(),
+                tracingSettings.getSampleRate());
+        return ResponseEntity.ok(ApiResponse.success(status(), "Tracing settings updated"));
+    }
+
+    private TracingStatus status() {
+        return TracingStatus.builder()
+                .enabled(tracingSettings.isEnabled())
+                .sampleRate(tracingSettings.getSampleRate())
+                .maxSpans(tracingSettings.getMaxSpans())
+                .build();
+    }
+}
@@ -0,0 +1,33 @@
+package com.ppesafety.api.admin.dto;
+
+import com.ppesafety.api.core.diagnostics.QueryDiagnostics.NPlusOneWarning;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatabaseDiagnostics {
+
+    private boolean statisticsEnabled;
+    private long statementCount;
+    private long queryExecutionCount;
+    private long queryExecutionMaxTimeMs;
+    private String slowestQuery;
+    private long entityLoadCount;
+    private long entityFetchCount;
+    private long collectionLoadCount;
+    private long collectionFetchCount;
+    private long transactionCount;
+    private List<QueryStats> slowestQueries;
+    private List<RepositoryMethodStats> repositoryMethods;
+    private List<NPlusOneWarning> suspectedNPlusOne;
+    private PoolStats pool;
+    // Every pool behind the routing data source, the primary one first, then the replicas'
+    private List<PoolStats> pools;
+}
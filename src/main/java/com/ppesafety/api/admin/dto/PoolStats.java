@@ -0,0 +1,27 @@
+package com.ppesafety.api.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoolStats {
+
+    private String poolName;
+    private int maximumPoolSize;
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int pendingThreads;
+    private double acquireMeanMs;
+    private double acquireMaxMs;
+    private long connectionTimeouts;
+    // Only with datasource-limit enabled
+    private Integer permitLimit;
+    private Integer permitWaitingThreads;
+    private Long permitTimeouts;
+}
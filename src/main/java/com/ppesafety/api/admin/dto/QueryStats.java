@@ -0,0 +1,20 @@
+package com.ppesafety.api.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueryStats {
+
+    private String query;
+    private long executionCount;
+    private long averageTimeMs;
+    private long maxTimeMs;
+    private long totalTimeMs;
+    private long rowsFetched;
+}
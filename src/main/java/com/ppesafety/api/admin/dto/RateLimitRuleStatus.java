@@ -0,0 +1,29 @@
+package com.ppesafety.api.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitRuleStatus {
+
+    private String name;
+    private String path;
+    private List<String> methods;
+    private String key;
+    private long capacity;
+    private String period;
+    private int batch;
+    private boolean enabled;
+    // Changed at runtime rather than taken from application.yml
+    private boolean overridden;
+    // Decisions made by this node since startup
+    private long allowed;
+    private long rejected;
+}
@@ -0,0 +1,23 @@
+package com.ppesafety.api.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecordingStatus {
+
+    private String name;
+    private String state;
+    private Instant startTime;
+    private Instant stopTime;
+    private long sizeBytes;
+    private String maxAge;
+    private long maxSizeBytes;
+}
@@ -0,0 +1,20 @@
+package com.ppesafety.api.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RepositoryMethodStats {
+
+    private String repository;
+    private String method;
+    private long calls;
+    private long statements;
+    private double statementsPerCall;
+    private long maxStatementsPerCall;
+}
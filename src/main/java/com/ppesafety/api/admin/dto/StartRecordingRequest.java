@@ -0,0 +1,20 @@
+package com.ppesafety.api.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Duration;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StartRecordingRequest {
+
+    // ISO-8601, e.g. PT30M; defaults to jfr.max-age
+    private Duration maxAge;
+
+    private Long maxSizeBytes;
+}
@@ -0,0 +1,17 @@
+package com.ppesafety.api.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TracingStatus {
+
+    private boolean enabled;
+    private double sampleRate;
+    private int maxSpans;
+}
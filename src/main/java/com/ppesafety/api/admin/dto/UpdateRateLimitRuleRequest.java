@@ -0,0 +1,37 @@
+package com.ppesafety.api.admin.dto;
+
+import com.ppesafety.api.core.ratelimit.KeyType;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Fields left null keep their current value; a new rule needs path, capacity and period.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateRateLimitRuleRequest {
+
+    private String path;
+
+    private List<String> methods;
+
+    private KeyType key;
+
+    @Positive(message = "Capacity must be positive")
+    private Long capacity;
+
+    // e.g. "1m", "30s" or ISO-8601 "PT1M"
+    private String period;
+
+    @Positive(message = "Batch must be positive")
+    private Integer batch;
+
+    private Boolean enabled;
+}
@@ -0,0 +1,21 @@
+package com.ppesafety.api.admin.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateTracingRequest {
+
+    private Boolean enabled;
+
+    @DecimalMin(value = "0.0", message = "Sample rate must be between 0 and 1")
+    @DecimalMax(value = "1.0", message = "Sample rate must be between 0 and 1")
+    private Double sampleRate;
+}
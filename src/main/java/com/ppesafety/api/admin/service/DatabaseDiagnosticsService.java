@@ -0,0 +1,177 @@
+package com.ppesafety.api.admin.service;
+
+import com.ppesafety.api.admin.dto.DatabaseDiagnostics;
+import com.ppesafety.api.admin.dto.PoolStats;
+import com.ppesafety.api.admin.dto.QueryStats;
+import com.ppesafety.api.admin.dto.RepositoryMethodStats;
+import com.ppesafety.api.core.aspect.RepositoryMetricsAspect;
+import com.ppesafety.api.core.concurrency.ConnectionLimitingDataSource;
+import com.ppesafety.api.core.datasource.ReplicaSet;
+import com.ppesafety.api.core.datasource.Workload;
+import com.ppesafety.api.core.datasource.WorkloadRoutingDataSource;
+import com.ppesafety.api.core.diagnostics.QueryDiagnostics;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class DatabaseDiagnosticsService {
+
+    private static final int TOP_QUERIES = 10;
+
+    private final Statistics statistics;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final QueryDiagnostics queryDiagnostics;
+    private final ObjectProvider<ReplicaSet> replicaSet;
+
+    public DatabaseDiagnosticsService(EntityManagerFactory entityManagerFactory,
+            DataSource dataSource,
+            MeterRegistry meterRegistry,
+            QueryDiagnostics queryDiagnostics,
+            ObjectProvider<ReplicaSet> replicaSet) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.dataSource = dataSource;
+        this.meterRegistry = meterRegistry;
+        this.queryDiagnostics = queryDiagnostics;
+        this.replicaSet = replicaSet;
+    }
+
+    public DatabaseDiagnostics getDiagnostics() {
+        return DatabaseDiagnostics.builder()
+                .statisticsEnabled(statistics.isStatisticsEnabled())
+                .statementCount(statistics.getPrepareStatementCount())
+                .queryExecutionCount(statistics.getQueryExecutionCount())
+                .queryExecutionMaxTimeMs(statistics.getQueryExecutionMaxTime())
+                .slowestQuery(statistics.getQueryExecutionMaxTimeQueryString())
+                .entityLoadCount(statistics.getEntityLoadCount())
+                .entityFetchCount(statistics.getEntityFetchCount())
+                .collectionLoadCount(statistics.getCollectionLoadCount())
+                .collectionFetchCount(statistics.getCollectionFetchCount())
+                .transactionCount(statistics.getTransactionCount())
+                .slowestQueries(getSlowestQueries())
+                .repositoryMethods(getRepositoryMethods())
+                .suspectedNPlusOne(queryDiagnostics.recentWarnings())
+                .pool(getPoolStats(dataSource))
+                .pools(getAllPoolStats())
+                .build();
+    }
+
+    public void reset() {
+        statistics.clear();
+        queryDiagnostics.clear();
+    }
+
+    private List<QueryStats> getSlowestQueries() {
+        return Arrays.stream(statistics.getQueries())
+                .map(query -> {
+                    QueryStatistics stats = statistics.getQueryStatistics(query);
+                    return QueryStats.builder()
+                            .query(query)
+                            .executionCount(stats.getExecutionCount())
+                            .averageTimeMs(stats.getExecutionAvgTime())
+                            .maxTimeMs(stats.getExecutionMaxTime())
+                            .totalTimeMs(stats.getExecutionTotalTime())
+                            .rowsFetched(stats.getExecutionRowCount())
+                            .build();
+                })
+                .sorted(Comparator.comparingLong(QueryStats::getTotalTimeMs).reversed())
+                .limit(TOP_QUERIES)
+                .toList();
+    }
+
+    private List<RepositoryMethodStats> getRepositoryMethods() {
+        return meterRegistry.find(RepositoryMetricsAspect.STATEMENTS_METRIC).summaries().stream()
+                .filter(summary -> summary.count() > 0)
+                .map(summary -> RepositoryMethodStats.builder()
+                        .repository(summary.getId().getTag("repository"))
+                        .method(summary.getId().getTag("method"))
+                        .calls(summary.count())
+                        .statements((long) summary.totalAmount())
+                        .statementsPerCall(summary.mean())
+                        .maxStatementsPerCall((long) summary.max())
+                        .build())
+                .sorted(Comparator.comparingLong(RepositoryMethodStats::getStatements).reversed())
+                .toList();
+    }
+
+    private List<PoolStats> getAllPoolStats() {
+        WorkloadRoutingDataSource routing;
+        try {
+            if (!dataSource.isWrapperFor(WorkloadRoutingDataSource.class)) {
+                return List.of(getPoolStats(dataSource));
+            }
+            routing = dataSource.unwrap(WorkloadRoutingDataSource.class);
+        } catch (SQLException e) {
+            return List.of();
+        }
+        Stream<DataSource> replicaPools = replicaSet.stream()
+                .flatMap(replicas -> replicas.replicas().stream())
+                .flatMap(replica -> Arrays.stream(Workload.values()).map(replica.pools()::get));
+        return Stream.concat(Arrays.stream(Workload.values()).map(routing.getResolvedDataSources()::get), replicaPools)
+                .filter(Objects::nonNull)
+                .map(this::getPoolStats)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private PoolStats getPoolStats(DataSource target) {
+        HikariDataSource hikari;
+        try {
+            hikari = target.unwrap(HikariDataSource.class);
+        } catch (SQLException e) {
+            return null;
+        }
+
+        PoolStats.PoolStatsBuilder pool = PoolStats.builder()
+                .poolName(hikari.getPoolName())
+                .maximumPoolSize(hikari.getMaximumPoolSize());
+        HikariPoolMXBean mxBean = hikari.getHikariPoolMXBean();
+        if (mxBean != null) {
+            pool.activeConnections(mxBean.getActiveConnections())
+                    .idleConnections(mxBean.getIdleConnections())
+                    .totalConnections(mxBean.getTotalConnections())
+                    .pendingThreads(mxBean.getThreadsAwaitingConnection());
+        }
+
+        Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", hikari.getPoolName()).timer();
+        if (acquire != null) {
+            pool.acquireMeanMs(acquire.mean(TimeUnit.MILLISECONDS))
+                    .acquireMaxMs(acquire.max(TimeUnit.MILLISECONDS));
+        }
+        Counter timeouts = meterRegistry.find("hikaricp.connections.timeout").tag("pool", hikari.getPoolName())
+                .counter();
+        if (timeouts != null) {
+            pool.connectionTimeouts((long) timeouts.count());
+        }
+
+        try {
+            if (target.isWrapperFor(ConnectionLimitingDataSource.class)) {
+                ConnectionLimitingDataSource limit = target.unwrap(ConnectionLimitingDataSource.class);
+                pool.permitLimit(limit.getMaxConcurrent())
+                        .permitWaitingThreads(limit.getWaitingThreads())
+                        .permitTimeouts(limit.getTimeouts());
+            }
+        } catch (SQLException e) {
+            // Reported without the permit figures
+        }
+        return pool.build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.ppesafety.api.admin.service;
+
+import com.ppesafety.api.admin.dto.RecordingStatus;
+import com.ppesafety.api.core.exception.BadRequestException;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controls a single named JDK Flight Recorder recording using the JDK base
+ * configuration plus the application events from {@code jfr/ppesafety.jfc}.
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    private static final String RECORDING_NAME = "ppesafety";
+    private static final String APPLICATION_SETTINGS = "jfr/ppesafety.jfc";
+
+    @Value("${jfr.always-on:false}")
+    private boolean alwaysOn;
+
+    @Value("${jfr.base-configuration:default}")
+    private String baseConfiguration;
+
+    @Value("${jfr.max-age:1h}")
+    private Duration defaultMaxAge;
+
+    @Value("${jfr.max-size:104857600}")
+    private long defaultMaxSize;
+
+    private Recording recording;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startAlwaysOnRecording() {
+        if (alwaysOn) {
+            start(null, null);
+        }
+    }
+
+    public synchronized RecordingStatus start(Duration maxAge, Long maxSizeBytes) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new BadRequestException("A recording is already running");
+        }
+        closeRecording();
+
+        Recording newRecording = new Recording(settings());
+        newRecording.setName(RECORDING_NAME);
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(maxAge != null ? maxAge : defaultMaxAge);
+        newRecording.setMaxSize(maxSizeBytes != null ? maxSizeBytes : defaultMaxSize);
+        newRecording.start();
+        recording = newRecording;
+
+        logger.info("Started flight recording ({} + {}), max age {}, max size {} bytes",
+                baseConfiguration, APPLICATION_SETTINGS, recording.getMaxAge(), recording.getMaxSize());
+        return status();
+    }
+
+    public synchronized RecordingStatus stop() {
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            throw new BadRequestException("No recording is running");
+        }
+        // Stopped recordings keep their data so they can still be dumped
+        recording.stop();
+        logger.info("Stopped flight recording");
+        return status();
+    }
+
+    /**
+     * Writes the recorded data so far to a temporary file; the caller deletes it.
+     */
+    public synchronized Path dump() {
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            throw new BadRequestException("No recording to dump");
+        }
+        try {
+            Path file = Files.createTempFile("ppesafety-", ".jfr");
+            recording.dump(file);
+            return file;
+        } catch (IOException e) {
+            throw new RuntimeException("Could not dump flight recording", e);
+        }
+    }
+
+    public synchronized RecordingStatus status() {
+        if (recording == null) {
+            return RecordingStatus.builder().name(RECORDING_NAME).state("NONE").build();
+        }
+        return RecordingStatus.builder()
+                .name(RECORDING_NAME)
+                .state(recording.getState().name())
+                .startTime(recording.getStartTime())
+                .stopTime(recording.getStopTime())
+                .sizeBytes(recording.getSize())
+                .maxAge(String.valueOf(recording.getMaxAge()))
+                .maxSizeBytes(recording.getMaxSize())
+                .build();
+    }
+
+    @PreDestroy
+    public synchronized void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Map<String, String> settings() {
+        try (Reader reader = new InputStreamReader(new ClassPathResource(APPLICATION_SETTINGS).getInputStream(),
+                StandardCharsets.UTF_8)) {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(baseConfiguration)
+                    .getSettings());
+            settings.putAll(Configuration.create(reader).getSettings());
+            return settings;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Could not load flight recorder configuration", e);
+        }
+    }
+}
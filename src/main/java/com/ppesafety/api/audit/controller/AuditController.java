@@ -0,0 +1,51 @@
+package com.ppesafety.api.audit.controller;
+
+import com.ppesafety.api.audit.dto.AuditEventDto;
+import com.ppesafety.api.audit.entity.AuditOutcome;
+import com.ppesafety.api.audit.service.AuditEventService;
+import com.ppesafety.api.core.dto.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/admin/audit")
+@Tag(name = "Audit", description = "Audit trail of security-relevant actions")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AuditController {
+
+    private final AuditEventService auditEventService;
+
+    public AuditController(AuditEventService auditEventService) {
+        this.auditEventService = auditEventService;
+    }
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search audit events", description = "Pages through audited actions, newest first. All filters are optional; 'to' is exclusive. Events appear after a short write-behind delay. Admin only.")
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Audit events retrieved successfully"),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
+    })
+    public ResponseEntity<ApiResponse<Page<AuditEventDto>>> searchAuditEvents(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) AuditOutcome outcome,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @PageableDefault(size = 50, sort = "occurredAt", direction = Sort.Direction.DESC) Pageable pageable) {
+        return ResponseEntity.ok(ApiResponse.success(
+                auditEventService.search(username, action, outcome, from, to, pageable)));
+    }
+}
@@ -0,0 +1,26 @@
+package com.ppesafety.api.audit.dto;
+
+import com.ppesafety.api.audit.entity.AuditOutcome;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEventDto {
+
+    private Long id;
+    private LocalDateTime occurredAt;
+    private String username;
+    private String action;
+    private String method;
+    private String details;
+    private AuditOutcome outcome;
+    private String errorMessage;
+    private long durationMs;
+}
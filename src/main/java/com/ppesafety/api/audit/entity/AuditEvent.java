@@ -0,0 +1,48 @@
+package com.ppesafety.api.audit.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model for the audit trail. Rows are inserted in batches by
+ * {@link com.ppesafety.api.audit.service.AuditTrail}, not through JPA.
+ */
+@Entity
+@Table(name = "audit_events")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false, length = 100)
+    private String username;
+
+    @Column(nullable = false, length = 100)
+    private String action;
+
+    @Column(nullable = false, length = 200)
+    private String method;
+
+    @Column(length = 2000)
+    private String details;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private AuditOutcome outcome;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "duration_ms", nullable = false)
+    private long durationMs;
+}
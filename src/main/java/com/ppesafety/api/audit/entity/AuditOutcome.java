@@ -0,0 +1,6 @@
+package com.ppesafety.api.audit.entity;
+
+public enum AuditOutcome {
+    SUCCESS,
+    FAILURE
+}
@@ -0,0 +1,11 @@
+package com.ppesafety.api.audit.mapper;
+
+import com.ppesafety.api.audit.dto.AuditEventDto;
+import com.ppesafety.api.audit.entity.AuditEvent;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface AuditEventMapper {
+
+    AuditEventDto toDto(AuditEvent auditEvent);
+}
@@ -0,0 +1,53 @@
+package com.ppesafety.api.audit.service;
+
+import com.ppesafety.api.audit.dto.AuditEventDto;
+import com.ppesafety.api.audit.entity.AuditEvent;
+import com.ppesafety.api.audit.entity.AuditOutcome;
+import com.ppesafety.api.audit.mapper.AuditEventMapper;
+import com.ppesafety.api.audit.repository.AuditEventRepository;
+import com.ppesafety.api.core.annotation.AnalyticsWorkload;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Service
+@Transactional(readOnly = true)
+@AnalyticsWorkload
+public class AuditEventService {
+
+    private final AuditEventRepository auditEventRepository;
+    private final AuditEventMapper auditEventMapper;
+
+    public AuditEventService(AuditEventRepository auditEventRepository, AuditEventMapper auditEventMapper) {
+        this.auditEventRepository = auditEventRepository;
+        this.auditEventMapper = auditEventMapper;
+    }
+
+    /**
+     * Pages through persisted audit events; every filter is optional.
+     */
+    public Page<AuditEventDto> search(String username, String action, AuditOutcome outcome,
+            LocalDateTime from, LocalDateTime to, Pageable pageable) {
+        Specification<AuditEvent> spec = Specification.where(null);
+        if (username != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("username"), username));
+        }
+        if (action != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("action"), action));
+        }
+        if (outcome != null) {
+            spec = spec.and((root, query, cb) -> cb.equal(root.get("outcome"), outcome));
+        }
+        if (from != null) {
+            spec = spec.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("occurredAt"), from));
+        }
+        if (to != null) {
+            spec = spec.and((root, query, cb) -> cb.lessThan(root.get("occurredAt"), to));
+        }
+        return auditEventRepository.findAll(spec, pageable).map(auditEventMapper::toDto);
+    }
+}
@@ -0,0 +1,161 @@
+package com.ppesafety.api.audit.service;
+
+import com.ppesafety.api.audit.entity.AuditEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for audit events.
+ *
+ * {@link #record} only enqueues into a fixed-capacity ring buffer and never
+ * blocks or touches the database. A single background thread drains the buffer
+ * and inserts events into {@code audit_events} with JDBC batches of up to
+ * {@code batch-size} rows (JPA cannot batch IDENTITY inserts). If the buffer is
+ * full, or a batch still fails after retries, the event is written to the log
+ * instead so it is never silently lost. The buffer is drained on shutdown.
+ */
+@Component
+public class AuditTrail {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditTrail.class);
+
+    private static final String INSERT_SQL = "INSERT INTO audit_events "
+            + "(occurred_at, username, action, method, details, outcome, error_message, duration_ms) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final BlockingQueue<AuditEvent> buffer;
+    private final Counter droppedEvents;
+    private final Counter writtenEvents;
+
+    @Value("${audit.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.flush-interval:1s}")
+    private Duration flushInterval;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public AuditTrail(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+            @Value("${audit.buffer-capacity:8192}") int bufferCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.droppedEvents = Counter.builder("ppesafety.audit.dropped")
+                .description("Audit events that could not be buffered or persisted and were only logged")
+                .register(meterRegistry);
+        this.writtenEvents = Counter.builder("ppesafety.audit.written")
+                .description("Audit events persisted to audit_events")
+                .register(meterRegistry);
+        Gauge.builder("ppesafety.audit.buffered", buffer, BlockingQueue::size)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        flusher = new Thread(this::run, "audit-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        // No interrupt: the flusher notices within one flush interval and an in-flight batch is not cut short
+        running = false;
+        flusher.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Buffers an event for persistence. Never blocks the caller.
+     */
+    public void record(AuditEvent event) {
+        if (!buffer.offer(event)) {
+            droppedEvents.increment();
+            logger.error("AUDIT buffer full, event not persisted: {}", event);
+        }
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                AuditEvent first = buffer.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        while (buffer.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+        logger.info("Audit trail flusher stopped");
+    }
+
+    private void write(List<AuditEvent> batch) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+                    ps.setTimestamp(1, Timestamp.valueOf(event.getOccurredAt()));
+                    ps.setString(2, event.getUsername());
+                    ps.setString(3, event.getAction());
+                    ps.setString(4, event.getMethod());
+                    ps.setString(5, event.getDetails());
+                    ps.setString(6, event.getOutcome().name());
+                    ps.setString(7, event.getErrorMessage());
+                    ps.setLong(8, event.getDurationMs());
+                });
+                writtenEvents.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                logger.warn("Could not write {} audit events (attempt {}/{}): {}",
+                        batch.size(), attempt, MAX_ATTEMPTS, e.getMessage());
+                if (attempt < MAX_ATTEMPTS && !sleep(attempt * 500L)) {
+                    break;
+                }
+            }
+        }
+
+        droppedEvents.increment(batch.size());
+        for (AuditEvent event : batch) {
+            logger.error("AUDIT event not persisted: {}", event);
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            return false;
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.ppesafety.api.user.dto.UserDto;
 import com.ppesafety.api.user.entity.User;
 import com.ppesafety.api.user.mapper.UserMapper;
 import com.ppesafety.api.user.repository.UserRepository;
+import com.ppesafety.api.user.service.EmployeeDirectory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -32,6 +33,7 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
     private final UserMapper userMapper;
+    private final EmployeeDirectory employeeDirectory;
 
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
@@ -40,12 +42,14 @@ public class AuthService {
             UserRepository userRepository,
             PasswordEncoder passwordEncoder,
             JwtTokenProvider tokenProvider,
-            UserMapper userMapper) {
+            UserMapper userMapper,
+            EmployeeDirectory employeeDirectory) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.tokenProvider = tokenProvider;
         this.userMapper = userMapper;
+        this.employeeDirectory = employeeDirectory;
     }
 
     @Auditable(action = "LOGIN")
@@ -85,6 +89,7 @@ public class AuthService {
                 .build();
 
         User savedUser = userRepository.save(user);
+        employeeDirectory.userSaved(savedUser);
         logger.info("User registered successfully: {}", savedUser.getUsername());
 
         String token = tokenProvider.generateToken(savedUser.getUsername());
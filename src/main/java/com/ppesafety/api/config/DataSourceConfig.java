@@ -0,0 +1,125 @@
+package com.ppesafety.api.config;
+
+import com.ppesafety.api.core.datasource.ReplicaProperties;
+import com.ppesafety.api.core.datasource.ReplicaRoutingDataSource;
+import com.ppesafety.api.core.datasource.ReplicaSet;
+import com.ppesafety.api.core.datasource.Workload;
+import com.ppesafety.api.core.datasource.WorkloadRoutingDataSource;
+import com.ppesafety.api.core.datasource.WriteTrackingDataSource;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Separate Hikari pools per {@link Workload}: {@code spring.datasource} for
+ * ingestion, authentication and all other work, and {@code analytics.datasource}
+ * for statistics and reports. The analytics pool has its own size and statement
+ * timeout and may point at a read replica. Everything that injects a DataSource
+ * (JPA, JdbcTemplate) gets the routing data source on top of both.
+ *
+ * With {@code replica.servers} configured, each replica gets the same two pools
+ * (read-only, same settings), and read-only transactions of
+ * {@code @ReplicaReads} services go to a replica that is up and current, see
+ * {@link ReplicaSet}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("analytics.datasource.hikari")
+    public HikariDataSource analyticsDataSource(DataSourceProperties properties,
+            @Value("${analytics.datasource.url:}") String url,
+            @Value("${analytics.datasource.username:}") String username,
+            @Value("${analytics.datasource.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(url.isEmpty() ? properties.determineUrl() : url)
+                .username(username.isEmpty() ? properties.determineUsername() : username)
+                .password(password.isEmpty() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("analytics");
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "replica.servers[0]", name = "url")
+    public ReplicaSet replicaSet(ReplicaProperties replicaProperties, DataSourceProperties properties,
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("analyticsDataSource") DataSource analytics, Environment environment) throws SQLException {
+        HikariDataSource primaryPool = primary.unwrap(HikariDataSource.class);
+        HikariDataSource analyticsPool = analytics.unwrap(HikariDataSource.class);
+        List<ReplicaSet.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.getServers().size(); i++) {
+            ReplicaProperties.Server server = replicaProperties.getServers().get(i);
+            String name = server.getName() != null ? server.getName() : "replica-" + (i + 1);
+            Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+            pools.put(Workload.PRIMARY, VirtualThreadConfig.limitConnections(
+                    replicaPool(primaryPool, name, server, replicaProperties, properties), name, environment));
+            pools.put(Workload.ANALYTICS, VirtualThreadConfig.limitConnections(
+                    replicaPool(analyticsPool, name + "-analytics", server, replicaProperties, properties),
+                    name + "-analytics", environment));
+            replicas.add(new ReplicaSet.Replica(name, pools));
+        }
+        return new ReplicaSet(replicas, primaryPool, replicaProperties);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("analyticsDataSource") DataSource analytics,
+            ObjectProvider<ReplicaSet> replicaSet) {
+        DataSource routing = new WorkloadRoutingDataSource(
+                Map.of(Workload.PRIMARY, primary, Workload.ANALYTICS, analytics));
+        ReplicaSet replicas = replicaSet.getIfAvailable();
+        if (replicas == null) {
+            return routing;
+        }
+        // The connection is obtained on first use, once the transaction is known to be read-only
+        LazyConnectionDataSourceProxy lazy = new LazyConnectionDataSourceProxy(
+                new WriteTrackingDataSource(routing, replicas));
+        lazy.setReadOnlyDataSource(new ReplicaRoutingDataSource(routing, replicas));
+        return lazy;
+    }
+
+    private static HikariDataSource replicaPool(HikariDataSource template, String name,
+            ReplicaProperties.Server server, ReplicaProperties replicaProperties, DataSourceProperties properties) {
+        HikariConfig config = new HikariConfig();
+        template.copyStateTo(config);
+        config.setPoolName(name);
+        config.setJdbcUrl(server.getUrl());
+        config.setUsername(server.getUsername() != null ? server.getUsername() : properties.determineUsername());
+        config.setPassword(server.getPassword() != null ? server.getPassword() : properties.determinePassword());
+        config.setReadOnly(true);
+        config.setConnectionTimeout(replicaProperties.getTimeout().toMillis());
+        // Start even if the replica is down; the health check keeps it out of use
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+}
@@ -1,5 +1,6 @@
 package com.ppesafety.api.config;
 
+import com.ppesafety.api.core.jfr.JwtAuthenticationEvent;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -35,11 +36,17 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     protected void doFilterInternal(HttpServletRequest request,
             HttpServletResponse response,
             FilterChain filterChain) throws ServletException, IOException {
+        JwtAuthenticationEvent event = new JwtAuthenticationEvent();
+        event.begin();
+        boolean hasToken = false;
         try {
             String jwt = getJwtFromRequest(request);
+            hasToken = StringUtils.hasText(jwt);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
+            if (hasToken && tokenProvider.validateToken(jwt)) {
+                event.valid = true;
                 String username = tokenProvider.getUsernameFromToken(jwt);
+                event.username = username;
 
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
@@ -49,9 +56,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                event.authenticated = true;
             }
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
+        } finally {
+            // Requests without a bearer token (login, public endpoints) are not interesting here
+            event.end();
+            if (hasToken) {
+                event.commit();
+            }
         }
 
         filterChain.doFilter(request, response);
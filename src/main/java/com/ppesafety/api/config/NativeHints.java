@@ -0,0 +1,80 @@
+package com.ppesafety.api.config;
+
+import com.ppesafety.api.core.dto.PageResponse;
+import com.ppesafety.api.statistics.dto.DashboardStats;
+import com.ppesafety.api.statistics.dto.EmployeeRanking;
+import com.ppesafety.api.statistics.dto.EmployeeStats;
+import com.ppesafety.api.statistics.dto.EmployeeViolationReport;
+import com.ppesafety.api.statistics.dto.TimeSeriesStats;
+import com.ppesafety.api.user.entity.User;
+import com.ppesafety.api.violation.dto.ViolationDto;
+import com.ppesafety.api.violation.entity.Violation;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image that Spring AOT cannot
+ * infer from the bean graph.
+ *
+ * Mappers need none: MapStruct generates plain Spring components at compile
+ * time. Entities are registered by AOT as well, but listed here for the
+ * reflective access Hibernate needs beyond that.
+ *
+ * Untested: these hints have only been through AOT processing, never a native
+ * build, so they may well be incomplete (see the native profile in the pom).
+ */
+public class NativeHints implements RuntimeHintsRegistrar {
+
+    // jjwt-api instantiates its implementation by name (jjwt-impl is a runtime dependency)
+    private static final List<String> JJWT_IMPLEMENTATION = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultClaimsBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtHeaderBuilder",
+            "io.jsonwebtoken.impl.io.StandardCompressionAlgorithms",
+            "io.jsonwebtoken.impl.security.KeysBridge",
+            "io.jsonwebtoken.impl.security.StandardSecureDigestAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardEncryptionAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardKeyOperations",
+            "io.jsonwebtoken.impl.security.StandardHashAlgorithms",
+            "io.jsonwebtoken.impl.security.StandardCurves",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> entity : List.of(User.class, Violation.class)) {
+            hints.reflection().registerType(entity, MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+        }
+
+        for (String type : JJWT_IMPLEMENTATION) {
+            hints.reflection().registerType(TypeReference.of(type), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.*");
+
+        // Cached values are stored with their class name (default typing in RedisConfig)
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                DashboardStats.class, EmployeeStats.class, TimeSeriesStats.class, EmployeeRanking.class,
+                EmployeeViolationReport.class, ViolationDto.class, PageResponse.class);
+        for (Class<?> collection : List.of(ArrayList.class, HashMap.class, LinkedHashMap.class)) {
+            hints.reflection().registerType(collection, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+
+        hints.resources().registerPattern("db/changelog/*");
+        hints.resources().registerPattern("db/changelog/changes/*");
+        hints.resources().registerPattern("www.liquibase.org/xml/ns/dbchangelog/*.xsd");
+        hints.resources().registerPattern("ratelimit/*.lua");
+        hints.resources().registerPattern("jfr/*.jfc");
+    }
+}
@@ -9,10 +9,12 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -20,7 +22,10 @@ import org.springframework.data.redis.serializer.StringRedisSerializer;
 import java.time.Duration;
 
 @Configuration
-@EnableCaching
+// Ahead of the transaction interceptor and aspects (all LOWEST_PRECEDENCE): a cache hit returns without
+// opening a transaction or borrowing a connection, and inner advice only sees actual computations.
+// Must stay the only @EnableCaching: a second, unordered one on the application class wins and resets the order
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
 public class RedisConfig {
 
         private ObjectMapper createObjectMapper() {
@@ -54,6 +59,13 @@ public class RedisConfig {
                 return template;
         }
 
+        @Bean
+        public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+                RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+                container.setConnectionFactory(connectionFactory);
+                return container;
+        }
+
         @Bean
         public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
                 GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer(
@@ -0,0 +1,84 @@
+package com.ppesafety.api.config;
+
+import liquibase.integration.spring.SpringLiquibase;
+import org.hibernate.cfg.AvailableSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Skips Liquibase and {@code ddl-auto} when {@code schema.skip-when-current}
+ * is set and the database already matches this build's changelog and entity
+ * model (see {@link SchemaState}), so autoscaled nodes do not pay for schema
+ * checks on every boot.
+ */
+@Configuration
+public class SchemaConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaConfig.class);
+
+    @Bean
+    public SchemaState schemaState(DataSource dataSource,
+            @Value("${schema.skip-when-current:false}") boolean skipWhenCurrent,
+            @Value("${spring.liquibase.database-change-log-table:databasechangelog}") String changeLogTable) {
+        return new SchemaState(dataSource, skipWhenCurrent, changeLogTable);
+    }
+
+    @Bean
+    public static BeanPostProcessor liquibaseSchemaStatePostProcessor(ObjectProvider<SchemaState> schemaState,
+            Environment environment) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof SpringLiquibase liquibase && enabled() && schemaState.getObject().isCurrent()) {
+                    logger.info("Database schema is current ({}), skipping Liquibase",
+                            schemaState.getObject().fingerprint());
+                    liquibase.setShouldRun(false);
+                }
+                return bean;
+            }
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Reached only after a successful update
+                if (bean instanceof SpringLiquibase && enabled() && !schemaState.getObject().isCurrent()) {
+                    schemaState.getObject().markMigrated();
+                }
+                return bean;
+            }
+
+            private boolean enabled() {
+                return environment.getProperty("spring.liquibase.enabled", Boolean.class, true);
+            }
+        };
+    }
+
+    /**
+     * Tags the schema once Hibernate's update has succeeded as well; tagging
+     * right after Liquibase would let a failed update be skipped next boot.
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> schemaTagger(SchemaState schemaState) {
+        return event -> schemaState.markCurrent();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer schemaUpdateCustomizer(SchemaState schemaState) {
+        return properties -> {
+            if (schemaState.isCurrent()) {
+                properties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+            }
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package com.ppesafety.api.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Whether the database was last migrated with the changelog and entity model
+ * bundled in this build.
+ *
+ * After a boot that ran Liquibase and Hibernate's schema update successfully,
+ * the newest DATABASECHANGELOG row is tagged with a hash of all changelog files
+ * and entity classes. A later boot of the same build finds the tag with a
+ * single query and can skip Liquibase (changelog parsing, lock, per-changeset
+ * checks) and Hibernate's schema update. Changing either the changelog or an
+ * entity makes the next boot run both again.
+ */
+public class SchemaState {
+
+    private static final Logger logger = LoggerFactory.getLogger(SchemaState.class);
+
+    private static final String CHANGELOG_LOCATION = "db/changelog/";
+    // Entities live in com.ppesafety.api.<module>.entity; their bytecode stands in for the mapping ddl-auto applies
+    private static final String ENTITY_LOCATION = "com/ppesafety/api/";
+    private static final String TAG_PREFIX = "schema-";
+
+    private final DataSource dataSource;
+    private final boolean skipWhenCurrent;
+    private final String changeLogTable;
+    private Boolean current;
+    private String fingerprint;
+    private boolean fingerprinted;
+    private volatile boolean migrated;
+
+    public SchemaState(DataSource dataSource, boolean skipWhenCurrent, String changeLogTable) {
+        this.dataSource = dataSource;
+        this.skipWhenCurrent = skipWhenCurrent;
+        this.changeLogTable = changeLogTable;
+    }
+
+    /**
+     * True when skipping is enabled and the schema is current. Evaluated once
+     * per boot, so a migration made during this boot does not change the answer.
+     */
+    public synchronized boolean isCurrent() {
+        if (current == null) {
+            current = skipWhenCurrent && fingerprint() != null && fingerprint().equals(appliedFingerprint());
+        }
+        return current;
+    }
+
+    /**
+     * Notes that Liquibase applied the bundled changelog during this boot.
+     */
+    public void markMigrated() {
+        migrated = true;
+    }
+
+    /**
+     * Records that the bundled schema has been fully applied, if Liquibase ran
+     * during this boot. Call only once startup, including Hibernate's schema
+     * update, has succeeded.
+     */
+    public void markCurrent() {
+        if (!migrated || fingerprint() == null) {
+            return;
+        }
+        String sql = "UPDATE " + changeLogTable + " SET tag = ? WHERE orderexecuted = "
+                + "(SELECT max(orderexecuted) FROM " + changeLogTable + ")";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, fingerprint());
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            logger.warn("Could not tag schema version, the next boot will run Liquibase again: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Null if the changelog or entity files cannot be listed (e.g. no classpath
+     * scanning in a native image); the schema is then never treated as current.
+     */
+    synchronized String fingerprint() {
+        if (!fingerprinted) {
+            byte[] hash = schemaHash();
+            fingerprint = hash != null ? TAG_PREFIX + HexFormat.of().formatHex(hash, 0, 16) : null;
+            fingerprinted = true;
+        }
+        return fingerprint;
+    }
+
+    private String appliedFingerprint() {
+        String sql = "SELECT tag FROM " + changeLogTable + " ORDER BY orderexecuted DESC LIMIT 1";
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            String tag = resultSet.next() ? resultSet.getString(1) : null;
+            return tag != null ? tag : "";
+        } catch (SQLException e) {
+            // Typically a fresh database without the changelog table
+            logger.debug("Could not read schema version: {}", e.getMessage());
+            return "";
+        }
+    }
+
+    private static byte[] schemaHash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            if (!hash(digest, CHANGELOG_LOCATION, "**/*.*") || !hash(digest, ENTITY_LOCATION, "*/entity/**/*.class")) {
+                return null;
+            }
+            return digest.digest();
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash the changelog and entity model", e);
+        }
+    }
+
+    private static boolean hash(MessageDigest digest, String location, String pattern) throws IOException {
+        // Keyed by path relative to the location so the hash is the same from a jar or a directory
+        Map<String, Resource> files = new TreeMap<>();
+        for (Resource resource : new PathMatchingResourcePatternResolver()
+                .getResources("classpath*:" + location + pattern)) {
+            String url = resource.getURL().toString();
+            files.put(url.substring(url.lastIndexOf(location)), resource);
+        }
+        if (files.isEmpty()) {
+            logger.warn("No files found under {}, schema checks cannot be skipped", location);
+            return false;
+        }
+
+        for (Map.Entry<String, Resource> file : files.entrySet()) {
+            digest.update(file.getKey().getBytes(StandardCharsets.UTF_8));
+            try (InputStream in = file.getValue().getInputStream()) {
+                digest.update(in.readAllBytes());
+            }
+        }
+        return true;
+    }
+}
@@ -54,8 +54,12 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-ui/**", "/swagger-ui.html", "/api-docs/**", "/v3/api-docs/**",
                                 "/webjars/**")
                         .permitAll()
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/info").permitAll()
                         .requestMatchers("/uploads/**").permitAll()
+                        // Metrics (prometheus) and any other actuator endpoint - Admin only
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+                        // Diagnostics - Admin only
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         // User management - Admin only
                         .requestMatchers(HttpMethod.POST, "/api/users/**").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.PUT, "/api/users/**").hasRole("ADMIN")
@@ -0,0 +1,79 @@
+package com.ppesafety.api.config;
+
+import com.ppesafety.api.core.concurrency.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Support for running requests on virtual threads ({@code spring.threads.virtual.enabled}).
+ *
+ * Spring Boot itself moves Tomcat, the application task executor and scheduling
+ * onto virtual threads. This puts a {@link ConnectionLimitingDataSource} in front
+ * of every Hikari pool, replica pools included (on by default with virtual
+ * threads, see {@code datasource-limit}); pinning is reported by VirtualThreadPinningMonitor.
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    public static BeanPostProcessor connectionLimitPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                return limitConnections(hikari, beanName, environment);
+            }
+        };
+    }
+
+    /**
+     * Puts a {@link ConnectionLimitingDataSource} in front of {@code hikari} if
+     * {@code datasource-limit.enabled} is set. Also used for the replica pools,
+     * which are not beans.
+     */
+    static DataSource limitConnections(HikariDataSource hikari, String name, Environment environment) {
+        if (!environment.getProperty("datasource-limit.enabled", Boolean.class, false)) {
+            return hikari;
+        }
+        // Defaults to one permit per pooled connection and the pool's own wait limit
+        int maxConcurrent = environment.getProperty("datasource-limit.max-concurrent", Integer.class, 0);
+        Duration acquireTimeout = environment.getProperty("datasource-limit.acquire-timeout", Duration.class,
+                Duration.ZERO);
+        ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(hikari,
+                hikari.getPoolName() != null ? hikari.getPoolName() : name,
+                maxConcurrent > 0 ? maxConcurrent : hikari.getMaximumPoolSize(),
+                acquireTimeout.isPositive() ? acquireTimeout
+                        : Duration.ofMillis(hikari.getConnectionTimeout()));
+        logger.info("Limiting data source {} to {} concurrent connections", name, limited.getMaxConcurrent());
+        return limited;
+    }
+
+    @Bean
+    public MeterBinder connectionLimitMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream().forEach(dataSource -> {
+            try {
+                if (dataSource.isWrapperFor(ConnectionLimitingDataSource.class)) {
+                    dataSource.unwrap(ConnectionLimitingDataSource.class).bindTo(registry);
+                }
+            } catch (SQLException e) {
+                logger.debug("Could not inspect data source for connection limit metrics: {}", e.getMessage());
+            }
+        });
+    }
+}
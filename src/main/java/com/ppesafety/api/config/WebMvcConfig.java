@@ -1,22 +1,22 @@
 package com.ppesafety.api.config;
 
-import org.springframework.beans.factory.annotation.Value;
+import com.ppesafety.api.core.web.ImageServingHandler;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
-import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.handler.SimpleUrlHandlerMapping;
 
-@Configuration
-public class WebMvcConfig implements WebMvcConfigurer {
+import java.util.Map;
 
-    @Value("${file.upload-dir:uploads}")
-    private String uploadDir;
+@Configuration
+public class WebMvcConfig {
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Map /uploads/** to the upload directory
-        // Use user.dir to get absolute path reference if needed, but file:uploads/
-        // works relative to execution dir
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:" + uploadDir + "/");
+    // Map /uploads/** to the dedicated image handler ahead of the default resource handlers
+    @Bean
+    public SimpleUrlHandlerMapping imageHandlerMapping(ImageServingHandler imageServingHandler) {
+        SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(
+                Map.of(ImageServingHandler.URL_PREFIX + "**", imageServingHandler));
+        mapping.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return mapping;
     }
 }
@@ -0,0 +1,16 @@
+package com.ppesafety.api.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs a bean's methods (or a single method) on the analytics connection pool
+ * instead of the primary one. Meant for read-only reporting work whose queries
+ * may be slow.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface AnalyticsWorkload {
+}
@@ -8,7 +8,8 @@ import java.lang.annotation.Target;
 /**
  * Marks a method for audit logging.
  * Methods annotated with @Auditable will have their execution logged
- * with user information and timestamps.
+ * with user information and timestamps, and recorded asynchronously in the
+ * audit_events table.
  */
 @Target(ElementType.METHOD)
 @Retention(RetentionPolicy.RUNTIME)
@@ -0,0 +1,16 @@
+package com.ppesafety.api.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the read-only transactions of a bean's methods (or a single method) run
+ * on a read replica, when replicas are configured. Writes and read-write
+ * transactions always use the primary.
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaReads {
+}
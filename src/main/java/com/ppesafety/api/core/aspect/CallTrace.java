@@ -0,0 +1,114 @@
+package com.ppesafety.api.core.aspect;
+
+import org.aspectj.lang.Signature;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-thread call stack state for {@link LoggingAspect}: the current nesting
+ * depth and, for sampled requests, a flat list of spans in call order.
+ *
+ * One instance is reused by its thread for every request, and spans are kept in
+ * parallel arrays holding references only, so a sampled request allocates
+ * nothing until it is rendered, and an unsampled one allocates nothing at all.
+ */
+final class CallTrace {
+
+    private static final ThreadLocal<CallTrace> CURRENT = new ThreadLocal<>();
+
+    int depth;
+    boolean sampled;
+    // The exception last reported as FAILED, so enclosing spans rethrowing it stay quiet
+    Throwable reportedFailure;
+
+    private Signature[] signatures = new Signature[0];
+    private Object[][] args = new Object[0][];
+    private int[] depths = new int[0];
+    private long[] starts = new long[0];
+    private long[] durations = new long[0];
+    private boolean[] failed = new boolean[0];
+    private int count;
+    private int dropped;
+
+    static CallTrace current() {
+        CallTrace trace = CURRENT.get();
+        if (trace == null) {
+            trace = new CallTrace();
+            CURRENT.set(trace);
+        }
+        return trace;
+    }
+
+    /**
+     * Records the start of a span, returning its index or -1 when the span limit is reached.
+     */
+    int open(Signature signature, Object[] arguments, long start, int maxSpans) {
+        if (count >= maxSpans) {
+            dropped++;
+            return -1;
+        }
+        if (count == signatures.length) {
+            grow(Math.min(maxSpans, Math.max(16, count * 2)));
+        }
+        int index = count++;
+        signatures[index] = signature;
+        args[index] = arguments;
+        depths[index] = depth;
+        starts[index] = start;
+        return index;
+    }
+
+    void close(int index, long duration, boolean failure) {
+        durations[index] = duration;
+        failed[index] = failure;
+    }
+
+    /**
+     * Renders the spans as an indented tree; only called for sampled requests.
+     */
+    String render(String username) {
+        long origin = count > 0 ? starts[0] : 0;
+        StringBuilder out = new StringBuilder(128 + count * 96);
+        out.append("TRACE [").append(username).append("] ").append(count).append(" spans");
+        if (dropped > 0) {
+            out.append(" (").append(dropped).append(" dropped)");
+        }
+        for (int i = 0; i < count; i++) {
+            out.append('\n');
+            for (int d = 0; d < depths[i]; d++) {
+                out.append("  ");
+            }
+            out.append("+").append(TimeUnit.NANOSECONDS.toMicros(starts[i] - origin)).append("us ")
+                    .append(signatures[i].toShortString())
+                    .append(' ').append(TimeUnit.NANOSECONDS.toMicros(durations[i])).append("us");
+            if (failed[i]) {
+                out.append(" FAILED");
+            }
+            out.append(" args=").append(LogRedaction.arguments(args[i]));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Clears per-request state once the outermost span completes.
+     */
+    void reset() {
+        // Drop references so arguments are not retained by the thread between requests
+        Arrays.fill(signatures, 0, count, null);
+        Arrays.fill(args, 0, count, null);
+        count = 0;
+        dropped = 0;
+        sampled = false;
+        reportedFailure = null;
+    }
+
+    private void grow(int capacity) {
+        signatures = Arrays.copyOf(signatures, capacity);
+        args = Arrays.copyOf(args, capacity);
+        depths = Arrays.copyOf(depths, capacity);
+        starts = Arrays.copyOf(starts, capacity);
+        durations = Arrays.copyOf(durations, capacity);
+        failed = Arrays.copyOf(failed, capacity);
+    }
+}
@@ -0,0 +1,24 @@
+package com.ppesafety.api.core.aspect;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * Renders method arguments for logs and the audit table with secrets masked.
+ *
+ * Request DTOs and User leave their password out of toString
+ * ({@code @ToString.Exclude}); that is what keeps them out of traces. The
+ * pattern is only a backstop for other "name=value" renderings (maps, third
+ * party types) and cannot see where a value containing a comma ends.
+ */
+final class LogRedaction {
+
+    private static final Pattern SECRET_ARGUMENT = Pattern.compile("(?i)(\\w*(?:password|secret|token)\\w*=)[^,)\\]]*");
+
+    private LogRedaction() {
+    }
+
+    static String arguments(Object[] args) {
+        return SECRET_ARGUMENT.matcher(Arrays.toString(args)).replaceAll("$1***");
+    }
+}
@@ -1,22 +1,71 @@
 package com.ppesafety.api.core.aspect;
 
+import com.ppesafety.api.audit.entity.AuditEvent;
+import com.ppesafety.api.audit.entity.AuditOutcome;
+import com.ppesafety.api.audit.service.AuditTrail;
+import com.ppesafety.api.core.annotation.Auditable;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-
-import java.util.Arrays;
-
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every service and controller call into the {@code ppesafety.method}
+ * timer (tagged by layer, class, method and outcome, with a percentile
+ * histogram for Prometheus), logs slow and failed calls, and logs audited
+ * actions.
+ *
+ * Calls are tracked as nested spans per request thread. A configurable share
+ * of requests is traced (see {@link TracingSettings}): their spans are
+ * collected and logged as one tree when the outermost call returns. Method
+ * names, arguments and the current user are only rendered for traced, slow or
+ * failed calls, so the common path does no string work.
+ *
+ * {@link Auditable} actions are additionally handed to the {@link AuditTrail},
+ * which persists them asynchronously.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
+    private static final Logger traceLogger = LoggerFactory.getLogger("com.ppesafety.api.trace");
+
+    private static final String TIMER_NAME = "ppesafety.method";
+
+    private final MeterRegistry meterRegistry;
+    private final TracingSettings tracingSettings;
+    private final AuditTrail auditTrail;
+
+    // Timer lookup by tags is comparatively expensive; resolve each method once
+    private final Map<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+
+    private final long slowCallThresholdNanos;
+
+    public LoggingAspect(MeterRegistry meterRegistry, TracingSettings tracingSettings, AuditTrail auditTrail,
+            @Value("${monitoring.slow-call-threshold:1000ms}") Duration slowCallThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.tracingSettings = tracingSettings;
+        this.auditTrail = auditTrail;
+        this.slowCallThresholdNanos = slowCallThreshold.toNanos();
+    }
 
     @Pointcut("within(@org.springframework.stereotype.Service *)")
     public void serviceLayer() {
@@ -28,45 +77,128 @@ public class LoggingAspect {
 
     @Around("serviceLayer() || controllerLayer()")
     public Object logExecutionTime(ProceedingJoinPoint joinPoint) throws Throwable {
-        long startTime = System.currentTimeMillis();
-        String methodName = joinPoint.getSignature().toShortString();
-        String username = getCurrentUsername();
+        CallTrace trace = CallTrace.current();
+        if (trace.depth == 0) {
+            trace.sampled = tracingSettings.sample();
+        }
 
-        logger.debug("User [{}] executing: {} with args: {}",
-                username, methodName, Arrays.toString(joinPoint.getArgs()));
+        long startTime = System.nanoTime();
+        int span = trace.sampled
+                ? trace.open(joinPoint.getSignature(), joinPoint.getArgs(), startTime, tracingSettings.getMaxSpans())
+                : -1;
+        if (logger.isDebugEnabled()) {
+            logger.debug("User [{}] executing: {} with args: {}", getCurrentUsername(),
+                    joinPoint.getSignature().toShortString(), LogRedaction.arguments(joinPoint.getArgs()));
+        }
 
+        trace.depth++;
+        Throwable failure = null;
         try {
-            Object result = joinPoint.proceed();
-            long executionTime = System.currentTimeMillis() - startTime;
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            failure = throwable;
+            throw throwable;
+        } finally {
+            trace.depth--;
+            long elapsed = System.nanoTime() - startTime;
+            MethodTimers methodTimers = timers(joinPoint);
+            (failure == null ? methodTimers.success : methodTimers.error).record(elapsed, TimeUnit.NANOSECONDS);
+
+            if (span >= 0) {
+                trace.close(span, elapsed, failure != null);
+            }
+            report(joinPoint, trace, elapsed, failure);
 
-            if (executionTime > 1000) {
-                logger.warn("SLOW: {} executed by [{}] in {}ms", methodName, username, executionTime);
-            } else {
-                logger.debug("{} executed by [{}] in {}ms", methodName, username, executionTime);
+            if (trace.depth == 0) {
+                if (trace.sampled) {
+                    traceLogger.info(trace.render(getCurrentUsername()));
+                }
+                trace.reset();
             }
+        }
+    }
 
-            return result;
-        } catch (Throwable throwable) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            logger.error("FAILED: {} executed by [{}] in {}ms with error: {}",
-                    methodName, username, executionTime, throwable.getMessage());
-            throw throwable;
+    private void report(ProceedingJoinPoint joinPoint, CallTrace trace, long elapsed, Throwable failure) {
+        long executionTime = TimeUnit.NANOSECONDS.toMillis(elapsed);
+        if (failure != null) {
+            // A controller rethrowing its service's exception would otherwise log the same failure twice
+            if (failure != trace.reportedFailure) {
+                trace.reportedFailure = failure;
+                logger.error("FAILED: {} executed by [{}] in {}ms with error: {}",
+                        joinPoint.getSignature().toShortString(), getCurrentUsername(), executionTime,
+                        failure.getMessage());
+            }
+        } else if (elapsed > slowCallThresholdNanos) {
+            logger.warn("SLOW: {} executed by [{}] in {}ms",
+                    joinPoint.getSignature().toShortString(), getCurrentUsername(), executionTime);
+        } else if (logger.isDebugEnabled()) {
+            logger.debug("{} executed by [{}] in {}ms",
+                    joinPoint.getSignature().toShortString(), getCurrentUsername(), executionTime);
         }
     }
 
-    @Around("@annotation(com.ppesafety.api.core.annotation.Auditable)")
-    public Object logAuditableAction(ProceedingJoinPoint joinPoint) throws Throwable {
+    @Around("@annotation(auditable)")
+    public Object logAuditableAction(ProceedingJoinPoint joinPoint, Auditable auditable) throws Throwable {
+        long startTime = System.nanoTime();
+        LocalDateTime occurredAt = LocalDateTime.now();
         String methodName = joinPoint.getSignature().toShortString();
         String username = getCurrentUsername();
+        String details = LogRedaction.arguments(joinPoint.getArgs());
+
+        logger.info("AUDIT: User [{}] performing action: {} with args: {}", username, methodName, details);
+
+        try {
+            Object result = joinPoint.proceed();
+            logger.info("AUDIT: User [{}] completed action: {} successfully", username, methodName);
+            audit(auditable, occurredAt, username, methodName, details, null, startTime);
+            return result;
+        } catch (Throwable throwable) {
+            audit(auditable, occurredAt, username, methodName, details, throwable, startTime);
+            throw throwable;
+        }
+    }
 
-        logger.info("AUDIT: User [{}] performing action: {} with args: {}",
-                username, methodName, Arrays.toString(joinPoint.getArgs()));
+    private void audit(Auditable auditable, LocalDateTime occurredAt, String username, String methodName,
+            String details, Throwable failure, long startTime) {
+        auditTrail.record(AuditEvent.builder()
+                .occurredAt(occurredAt)
+                .username(truncate(username, 100))
+                .action(truncate(auditable.action().isEmpty() ? methodName : auditable.action(), 100))
+                .method(truncate(methodName, 200))
+                .details(truncate(details, 2000))
+                .outcome(failure == null ? AuditOutcome.SUCCESS : AuditOutcome.FAILURE)
+                .errorMessage(failure == null ? null : truncate(String.valueOf(failure.getMessage()), 500))
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime))
+                .build());
+    }
 
-        Object result = joinPoint.proceed();
+    private static String truncate(String value, int maxLength) {
+        return value.length() <= maxLength ? value : value.substring(0, maxLength);
+    }
 
-        logger.info("AUDIT: User [{}] completed action: {} successfully", username, methodName);
+    private MethodTimers timers(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        MethodTimers methodTimers = timers.get(method);
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(method, key -> new MethodTimers(
+                    timer(joinPoint.getSignature().getDeclaringType(), key.getName(), "success"),
+                    timer(joinPoint.getSignature().getDeclaringType(), key.getName(), "error")));
+        }
+        return methodTimers;
+    }
 
-        return result;
+    private Timer timer(Class<?> type, String method, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("Execution time of service and controller methods")
+                .tag("layer", type.isAnnotationPresent(RestController.class) ? "controller" : "service")
+                .tag("class", type.getSimpleName())
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                // Bounding the histogram keeps the bucket count (and scrape size) per method small
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
     }
 
     private String getCurrentUsername() {
@@ -76,4 +208,7 @@ public class LoggingAspect {
         }
         return "anonymous";
     }
+
+    private record MethodTimers(Timer success, Timer error) {
+    }
 }
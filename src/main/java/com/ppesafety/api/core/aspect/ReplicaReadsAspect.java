@@ -0,0 +1,45 @@
+package com.ppesafety.api.core.aspect;
+
+import com.ppesafety.api.core.datasource.ReplicaContext;
+import com.ppesafety.api.core.datasource.ReplicaSet;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Allows replica reads for {@code @ReplicaReads} beans and methods, unless the
+ * current user wrote recently (read-your-writes). Decided once per call, so all
+ * its transactions see the same side.
+ *
+ * Ordered outside the transaction interceptor, like WorkloadRoutingAspect.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class ReplicaReadsAspect {
+
+    private final ObjectProvider<ReplicaSet> replicaSet;
+
+    public ReplicaReadsAspect(ObjectProvider<ReplicaSet> replicaSet) {
+        this.replicaSet = replicaSet;
+    }
+
+    @Around("@within(com.ppesafety.api.core.annotation.ReplicaReads) "
+            + "|| @annotation(com.ppesafety.api.core.annotation.ReplicaReads)")
+    public Object allowReplicaReads(ProceedingJoinPoint joinPoint) throws Throwable {
+        ReplicaSet replicas = replicaSet.getIfAvailable();
+        if (replicas == null) {
+            return joinPoint.proceed();
+        }
+        Boolean previous = ReplicaContext.set(!replicas.currentUserWroteRecently());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ReplicaContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ppesafety.api.core.aspect;
+
+import com.ppesafety.api.core.diagnostics.QueryTracker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records, per Spring Data repository method, the call time and how many SQL
+ * statements each call issued ({@code ppesafety.repository.statements}). A
+ * method whose statements-per-call grows is usually a lazy association being
+ * walked one row at a time.
+ */
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    public static final String STATEMENTS_METRIC = "ppesafety.repository.statements";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Class<?>, Map<Method, RepositoryMeters>> meters = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object measureRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        long statements = QueryTracker.statementCount();
+        long startTime = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            RepositoryMeters repositoryMeters = meters(joinPoint);
+            repositoryMeters.timer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            repositoryMeters.statements.record(QueryTracker.statementCount() - statements);
+        }
+    }
+
+    private RepositoryMeters meters(ProceedingJoinPoint joinPoint) {
+        Object proxy = joinPoint.getThis();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        return meters.computeIfAbsent(proxy.getClass(), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> {
+                    String repository = repositoryName(proxy, method);
+                    return new RepositoryMeters(
+                            Timer.builder("ppesafety.repository")
+                                    .description("Execution time of repository methods")
+                                    .tag("repository", repository)
+                                    .tag("method", method.getName())
+                                    .register(meterRegistry),
+                            DistributionSummary.builder(STATEMENTS_METRIC)
+                                    .description("SQL statements issued per repository method call")
+                                    .tag("repository", repository)
+                                    .tag("method", method.getName())
+                                    .register(meterRegistry));
+                });
+    }
+
+    private static String repositoryName(Object proxy, Method method) {
+        // Inherited methods (findById, save, ...) are declared on Spring Data interfaces; name the application one
+        for (Class<?> type : AopProxyUtils.proxiedUserInterfaces(proxy)) {
+            if (type.getName().startsWith("com.ppesafety.")) {
+                return type.getSimpleName();
+            }
+        }
+        return method.getDeclaringClass().getSimpleName();
+    }
+
+    private record RepositoryMeters(Timer timer, DistributionSummary statements) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.ppesafety.api.core.aspect;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Runtime-adjustable switches for the sampled call tracing done by
+ * {@link LoggingAspect}. Read on every request, so fields are volatile rather
+ * than guarded.
+ */
+@Component
+public class TracingSettings {
+
+    private volatile boolean enabled;
+    private volatile double sampleRate;
+    private final int maxSpans;
+
+    public TracingSettings(@Value("${tracing.enabled:false}") boolean enabled,
+            @Value("${tracing.sample-rate:0.01}") double sampleRate,
+            @Value("${tracing.max-spans:128}") int maxSpans) {
+        this.enabled = enabled;
+        this.sampleRate = clamp(sampleRate);
+        this.maxSpans = Math.max(1, maxSpans);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = clamp(sampleRate);
+    }
+
+    public int getMaxSpans() {
+        return maxSpans;
+    }
+
+    /**
+     * Decides whether the request starting on this thread is traced.
+     */
+    boolean sample() {
+        if (!enabled) {
+            return false;
+        }
+        double rate = sampleRate;
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
+    }
+
+    private static double clamp(double rate) {
+        return Math.max(0.0, Math.min(1.0, rate));
+    }
+}
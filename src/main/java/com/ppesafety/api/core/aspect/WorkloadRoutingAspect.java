@@ -0,0 +1,33 @@
+package com.ppesafety.api.core.aspect;
+
+import com.ppesafety.api.core.datasource.Workload;
+import com.ppesafety.api.core.datasource.WorkloadContext;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sets the analytics workload for {@code @AnalyticsWorkload} beans and methods.
+ *
+ * Ordered outside the cache and transaction interceptors (see RedisConfig),
+ * because a read-only transaction obtains its connection when it begins.
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+public class WorkloadRoutingAspect {
+
+    @Around("@within(com.ppesafety.api.core.annotation.AnalyticsWorkload) "
+            + "|| @annotation(com.ppesafety.api.core.annotation.AnalyticsWorkload)")
+    public Object routeToAnalytics(ProceedingJoinPoint joinPoint) throws Throwable {
+        Workload previous = WorkloadContext.set(Workload.ANALYTICS);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ppesafety.api.core.concurrency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ppesafety.api.core.dto.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Sheds requests beyond their group's adaptive limit ({@link ConcurrencyLimiter})
+ * with 503 and {@code Retry-After}.
+ *
+ * Runs ahead of the Spring Security chain, so a shed request costs no token
+ * validation, but after the HTTP observation filter, so 503s show up in the
+ * request metrics.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final ConcurrencyLimiter limiter;
+    private final ConcurrencyLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(ConcurrencyLimiter limiter,
+            ConcurrencyLimitProperties properties,
+            ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        ConcurrencyLimiter.Group group = limiter.match(request.getMethod(), PathContainer.parsePath(path));
+        if (group == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!limiter.tryAcquire(group)) {
+            reject(response, group);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limiter.release(group, System.nanoTime() - start);
+        }
+    }
+
+    private void reject(HttpServletResponse response, ConcurrencyLimiter.Group group) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, properties.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Server busy (" + group.name() + "), retry later", "OVERLOADED"));
+    }
+}
@@ -0,0 +1,65 @@
+package com.ppesafety.api.core.concurrency;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code concurrency-limit.*} settings: the endpoint groups with an adaptive
+ * concurrency limit. Requests matching no group are not limited.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = true;
+
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    private List<Group> groups = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Group {
+
+        private String name;
+
+        // Path patterns, e.g. /api/statistics/**; the first matching group applies
+        @Builder.Default
+        private List<String> paths = new ArrayList<>();
+
+        // HTTP methods the group applies to; empty means all
+        @Builder.Default
+        private List<String> methods = new ArrayList<>();
+
+        @Builder.Default
+        private Priority priority = Priority.NORMAL;
+
+        @Builder.Default
+        private int initialLimit = 20;
+
+        @Builder.Default
+        private int minLimit = 2;
+
+        @Builder.Default
+        private int maxLimit = 200;
+
+        // How far latency may rise above its long-term average before the limit shrinks
+        @Builder.Default
+        private double tolerance = 1.5;
+
+        // Share of each adjustment applied at once
+        @Builder.Default
+        private double smoothing = 0.2;
+    }
+}
@@ -0,0 +1,172 @@
+package com.ppesafety.api.core.concurrency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Per endpoint group admission control with a {@link GradientLimit} each.
+ *
+ * A request is admitted while its group has fewer requests in flight than its
+ * current limit. While any group of higher {@link Priority} is at its limit,
+ * lower groups only get their minimum, so the capacity they would use goes to
+ * the more important work first.
+ */
+@Component
+public class ConcurrencyLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+
+    private final List<Group> groups;
+
+    public ConcurrencyLimiter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        List<Group> built = new ArrayList<>();
+        for (ConcurrencyLimitProperties.Group definition : properties.getGroups()) {
+            try {
+                built.add(new Group(definition, meterRegistry));
+            } catch (RuntimeException e) {
+                logger.warn("Ignoring invalid concurrency limit group {}: {}", definition.getName(), e.getMessage());
+            }
+        }
+        this.groups = List.copyOf(built);
+    }
+
+    public List<Group> groups() {
+        return groups;
+    }
+
+    /**
+     * The first group a request belongs to, null if it is not limited.
+     */
+    Group match(String method, PathContainer path) {
+        for (Group group : groups) {
+            if (group.matches(method, path)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Takes a slot in the group, false if the request has to be shed. An
+     * admitted request must be reported through {@link #release}.
+     */
+    boolean tryAcquire(Group group) {
+        int limit = yieldsToHigherPriority(group) ? group.limit.min() : group.limit.get();
+        while (true) {
+            int current = group.inFlight.get();
+            if (current >= limit) {
+                group.rejected.increment();
+                return false;
+            }
+            if (group.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void release(Group group, long rttNanos) {
+        int inFlight = group.inFlight.getAndDecrement();
+        group.limit.update(rttNanos, inFlight);
+    }
+
+    private boolean yieldsToHigherPriority(Group group) {
+        for (Group other : groups) {
+            if (other.priority.compareTo(group.priority) > 0 && other.inFlight.get() >= other.limit.get()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static final class Group {
+
+        private final String name;
+        private final Priority priority;
+        private final List<PathPattern> patterns;
+        private final Set<String> methods;
+        private final GradientLimit limit;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final Counter rejected;
+
+        private Group(ConcurrencyLimitProperties.Group definition, MeterRegistry meterRegistry) {
+            if (definition.getName() == null || definition.getName().isBlank()) {
+                throw new IllegalArgumentException("a name is required");
+            }
+            if (definition.getPaths() == null || definition.getPaths().isEmpty()) {
+                throw new IllegalArgumentException("at least one path is required");
+            }
+            if (definition.getMinLimit() < 1 || definition.getMaxLimit() < definition.getMinLimit()) {
+                throw new IllegalArgumentException("limits must satisfy 1 <= min-limit <= max-limit");
+            }
+            this.name = definition.getName();
+            this.priority = definition.getPriority() != null ? definition.getPriority() : Priority.NORMAL;
+            this.patterns = definition.getPaths().stream().map(PathPatternParser.defaultInstance::parse).toList();
+            this.methods = definition.getMethods() == null ? Set.of()
+                    : definition.getMethods().stream()
+                            .map(method -> method.trim().toUpperCase(Locale.ROOT))
+                            .collect(Collectors.toUnmodifiableSet());
+            this.limit = new GradientLimit(definition.getInitialLimit(), definition.getMinLimit(),
+                    definition.getMaxLimit(), definition.getTolerance(), definition.getSmoothing());
+
+            String priorityTag = priority.name().toLowerCase(Locale.ROOT);
+            Gauge.builder("ppesafety.concurrency.limit", limit, GradientLimit::get)
+                    .description("Current adaptive concurrency limit")
+                    .tags("group", name, "priority", priorityTag)
+                    .register(meterRegistry);
+            Gauge.builder("ppesafety.concurrency.in-flight", inFlight, AtomicInteger::get)
+                    .description("Requests being processed")
+                    .tags("group", name, "priority", priorityTag)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("ppesafety.concurrency.rejected")
+                    .description("Requests shed with 503")
+                    .tags("group", name, "priority", priorityTag)
+                    .register(meterRegistry);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public Priority priority() {
+            return priority;
+        }
+
+        public int limit() {
+            return limit.get();
+        }
+
+        public int inFlight() {
+            return inFlight.get();
+        }
+
+        public long rejected() {
+            return (long) rejected.count();
+        }
+
+        private boolean matches(String method, PathContainer path) {
+            if (!methods.isEmpty() && !methods.contains(method)) {
+                return false;
+            }
+            for (PathPattern pattern : patterns) {
+                if (pattern.matches(path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
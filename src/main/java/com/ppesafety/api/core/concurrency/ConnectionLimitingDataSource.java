@@ -0,0 +1,166 @@
+package com.ppesafety.api.core.concurrency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admits at most {@code permits} open connections at a time, ahead of the pool.
+ *
+ * With virtual threads every request gets its own thread, so thousands can ask
+ * for one of a handful of pooled connections at once. They wait here in a fair
+ * semaphore, which costs a parked virtual thread and nothing else, instead of
+ * all contending inside the pool. With as many permits as pooled connections
+ * the pool itself never has waiters. A permit is held until the connection is
+ * closed.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final String name;
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutNanos;
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public ConnectionLimitingDataSource(DataSource target, String name, int maxConcurrent, Duration acquireTimeout) {
+        super(target);
+        this.name = name;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return limited(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getWaitingThreads() {
+        return permits.getQueueLength();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("ppesafety.db.permits.available", permits, Semaphore::availablePermits)
+                .description("Database connection permits not currently held")
+                .tag("pool", name)
+                .register(registry);
+        Gauge.builder("ppesafety.db.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads waiting for a database connection permit")
+                .tag("pool", name)
+                .register(registry);
+        FunctionTimer.builder("ppesafety.db.permits.wait", this,
+                        limiter -> limiter.acquired.sum(), limiter -> limiter.waitNanos.sum(), TimeUnit.NANOSECONDS)
+                .description("Time spent waiting for a database connection permit")
+                .tag("pool", name)
+                .register(registry);
+        FunctionCounter.builder("ppesafety.db.permits.timeout", this, limiter -> limiter.timeouts.sum())
+                .description("Requests for a connection that gave up waiting for a permit")
+                .tag("pool", name)
+                .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        long startedAt = System.nanoTime();
+        try {
+            // Uncontended permits skip the timed path, which always queues behind waiters of a fair semaphore
+            if (!permits.tryAcquire() && !permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException(name + " - no connection permit within "
+                        + TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + " ms (" + maxConcurrent
+                        + " connections in use, " + permits.getQueueLength() + " waiting)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit", e);
+        }
+        acquired.increment();
+        waitNanos.add(System.nanoTime() - startedAt);
+    }
+
+    private Connection limited(Connection target) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class},
+                (proxy, method, args) -> invoke(proxy, method, args, target, released));
+    }
+
+    private Object invoke(Object proxy, Method method, Object[] args, Connection target, AtomicBoolean released)
+            throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "getTargetConnection":
+                return target;
+            case "close":
+                try {
+                    target.close();
+                } finally {
+                    if (released.compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                }
+                return null;
+            default:
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+        }
+    }
+}
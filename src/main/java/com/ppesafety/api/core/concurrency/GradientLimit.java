@@ -0,0 +1,71 @@
+package com.ppesafety.api.core.concurrency;
+
+/**
+ * A concurrency limit steered by the latency gradient (after Netflix's
+ * Gradient2): the ratio of the long-term average latency to the latest one.
+ *
+ * While requests take about as long as usual the limit grows by roughly its
+ * square root per step; once latency climbs beyond {@code tolerance} times the
+ * long-term average, i.e. requests start queueing for the database or CPU, it
+ * shrinks in proportion. The long-term average slowly follows a lasting
+ * change, so a permanently slower workload gets its limit back over time.
+ */
+final class GradientLimit {
+
+    private static final int WARMUP_SAMPLES = 10;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+
+    private double estimate;
+    private double longRtt;
+    private long samples;
+    private volatile int limit;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.estimate = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimate;
+    }
+
+    int get() {
+        return limit;
+    }
+
+    int min() {
+        return minLimit;
+    }
+
+    /**
+     * Adjusts the limit for a completed request that took {@code rttNanos}
+     * with {@code inFlight} requests running (itself included).
+     */
+    synchronized void update(long rttNanos, int inFlight) {
+        double rtt = Math.max(1, rttNanos);
+        samples++;
+        if (samples <= WARMUP_SAMPLES) {
+            longRtt += (rtt - longRtt) / samples;
+        } else {
+            longRtt += (rtt - longRtt) * 2 / (LONG_WINDOW + 1);
+        }
+        // Recover quickly from an outlier that inflated the long-term average
+        if (longRtt / rtt > 2) {
+            longRtt *= 0.95;
+        }
+        if (samples <= WARMUP_SAMPLES || inFlight < estimate / 2) {
+            // Too little traffic to tell whether a higher limit would help
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / rtt));
+        double target = estimate * gradient + Math.sqrt(estimate);
+        estimate = Math.max(minLimit, Math.min(maxLimit, estimate * (1 - smoothing) + target * smoothing));
+        limit = (int) estimate;
+    }
+}
@@ -0,0 +1,11 @@
+package com.ppesafety.api.core.concurrency;
+
+/**
+ * Shedding order of concurrency limit groups, least important first.
+ */
+public enum Priority {
+
+    LOW,
+    NORMAL,
+    CRITICAL
+}
@@ -0,0 +1,70 @@
+package com.ppesafety.api.core.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.function.Supplier;
+
+/**
+ * Whether read-only transactions on the current thread may use a replica, see
+ * {@link ReplicaRoutingDataSource}. Not allowed unless set; set to false, the
+ * reads could use one but are kept on the primary for read-your-writes.
+ */
+public final class ReplicaContext {
+
+    private static final ThreadLocal<Boolean> ALLOWED = new ThreadLocal<>();
+
+    private ReplicaContext() {
+    }
+
+    public static boolean isAllowed() {
+        return Boolean.TRUE.equals(ALLOWED.get());
+    }
+
+    static boolean isKeptOnPrimary() {
+        return Boolean.FALSE.equals(ALLOWED.get());
+    }
+
+    /**
+     * Sets the current permission and returns the previous setting (null if
+     * none) for {@link #restore}.
+     */
+    public static Boolean set(boolean allowed) {
+        Boolean previous = ALLOWED.get();
+        ALLOWED.set(allowed);
+        return previous;
+    }
+
+    public static void restore(Boolean previous) {
+        if (previous != null) {
+            ALLOWED.set(previous);
+        } else {
+            ALLOWED.remove();
+        }
+    }
+
+    /**
+     * Runs {@code action} with the given permission.
+     */
+    public static <T> T call(boolean allowed, Supplier<T> action) {
+        Boolean previous = set(allowed);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Name of the authenticated user on this thread, null if anonymous.
+     */
+    static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
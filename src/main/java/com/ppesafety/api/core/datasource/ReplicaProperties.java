@@ -0,0 +1,50 @@
+package com.ppesafety.api.core.datasource;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code replica.*} settings. Without servers every query uses the primary.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "replica")
+public class ReplicaProperties {
+
+    private List<Server> servers = new ArrayList<>();
+
+    private Duration checkInterval = Duration.ofSeconds(5);
+
+    // Longest a replica may take to hand out a connection or answer the health check
+    private Duration timeout = Duration.ofSeconds(2);
+
+    // Replicas further behind the primary are skipped
+    private Duration maxLag = Duration.ofSeconds(5);
+
+    // How long a user's reads stay on the primary after their own write
+    private Duration readYourWrites = Duration.ofSeconds(15);
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Server {
+
+        private String name;
+
+        private String url;
+
+        // Default to the primary's credentials
+        private String username;
+
+        private String password;
+    }
+}
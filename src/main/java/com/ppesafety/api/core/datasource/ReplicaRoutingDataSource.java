@@ -0,0 +1,49 @@
+package com.ppesafety.api.core.datasource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Connections for read-only transactions: from a usable replica (in the pool
+ * of the current {@link Workload}) where the {@link ReplicaContext} allows it,
+ * otherwise from the primary.
+ *
+ * Used as the read-only data source of a LazyConnectionDataSourceProxy, which
+ * defers obtaining the connection until the transaction's read-only flag is
+ * known.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaSet replicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaSet replicas) {
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReplicaContext.isAllowed()) {
+            ReplicaSet.Replica replica = replicas.select();
+            if (replica != null) {
+                try {
+                    return replica.getConnection(WorkloadContext.current());
+                } catch (SQLException e) {
+                    replicas.markDown(replica, e);
+                }
+            }
+        } else if (ReplicaContext.isKeptOnPrimary()) {
+            replicas.countStickyRead();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+}
@@ -0,0 +1,293 @@
+package com.ppesafety.api.core.datasource;
+
+import com.ppesafety.api.core.concurrency.ConnectionLimitingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The read replicas, their health and replication lag, and which users wrote
+ * recently.
+ *
+ * Every check writes a heartbeat row on the primary and reads it back from each
+ * replica. A replica's lag is the age of the oldest heartbeat it has not seen
+ * yet, so it is measured the same way for streaming and logical replication
+ * and stays accurate while the primary is idle. A replica is used while its
+ * last check succeeded and its lag is within {@code max-lag}; one that fails
+ * to hand out a connection is skipped until its next successful check.
+ *
+ * Recent writers are tracked per node, so read-your-writes holds for requests
+ * served by the node that made the write.
+ */
+public class ReplicaSet implements MeterBinder, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaSet.class);
+
+    private static final String BEAT = "UPDATE replica_heartbeat SET beat_at = clock_timestamp() WHERE id = 1 "
+            + "RETURNING beat_at";
+    private static final String READ_BEAT = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+    private static final int MAX_BEATS = 1000;
+
+    private final List<Replica> replicas;
+    private final DataSource primary;
+    private final ReplicaProperties properties;
+    private final long maxLagMillis;
+    private final long readYourWritesNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Deque<Beat> beats = new ArrayDeque<>();
+    private final Map<String, Long> writers = new ConcurrentHashMap<>();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder unavailableReads = new LongAdder();
+
+    private record Beat(Instant at, long writtenAtNanos) {
+    }
+
+    public ReplicaSet(List<Replica> replicas, DataSource primary, ReplicaProperties properties) {
+        this.replicas = List.copyOf(replicas);
+        this.primary = primary;
+        this.properties = properties;
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        this.readYourWritesNanos = properties.getReadYourWrites().toNanos();
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+
+    /**
+     * The next usable replica in turn, null if none is.
+     */
+    Replica select() {
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isUsable(maxLagMillis)) {
+                return replica;
+            }
+        }
+        unavailableReads.increment();
+        return null;
+    }
+
+    void markDown(Replica replica, SQLException cause) {
+        if (replica.up) {
+            logger.warn("Replica {} unavailable, reading from the primary: {}", replica.name, cause.getMessage());
+        }
+        replica.up = false;
+        replica.lastError = cause.getMessage();
+    }
+
+    /**
+     * Keeps the user's reads on the primary for the read-your-writes window.
+     */
+    void recordWrite(String user) {
+        if (user != null) {
+            writers.put(user, System.nanoTime() + readYourWritesNanos);
+        }
+    }
+
+    /**
+     * Whether the current user wrote within the read-your-writes window.
+     */
+    public boolean currentUserWroteRecently() {
+        String user = ReplicaContext.currentUser();
+        Long until = user != null ? writers.get(user) : null;
+        return until != null && System.nanoTime() - until < 0;
+    }
+
+    void countStickyRead() {
+        stickyReads.increment();
+    }
+
+    @Scheduled(fixedDelayString = "${replica.check-interval:PT5S}")
+    public void check() {
+        beat();
+        for (Replica replica : replicas) {
+            check(replica);
+        }
+        long now = System.nanoTime();
+        writers.values().removeIf(until -> now - until >= 0);
+    }
+
+    private void beat() {
+        try (Connection connection = primary.getConnection();
+             PreparedStatement statement = connection.prepareStatement(BEAT)) {
+            statement.setQueryTimeout(timeoutSeconds());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (resultSet.next()) {
+                    Instant at = resultSet.getObject(1, OffsetDateTime.class).toInstant();
+                    synchronized (beats) {
+                        beats.addLast(new Beat(at, System.nanoTime()));
+                        while (beats.size() > MAX_BEATS) {
+                            beats.removeFirst();
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            logger.warn("Could not write the replication heartbeat: {}", e.getMessage());
+        }
+    }
+
+    private void check(Replica replica) {
+        Instant seen;
+        try (Connection connection = replica.pools.get(Workload.PRIMARY).getConnection();
+             PreparedStatement statement = connection.prepareStatement(READ_BEAT)) {
+            statement.setQueryTimeout(timeoutSeconds());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                seen = resultSet.next() ? resultSet.getObject(1, OffsetDateTime.class).toInstant() : Instant.MIN;
+            }
+        } catch (SQLException e) {
+            markDown(replica, e);
+            return;
+        }
+
+        long lagMillis = lagMillis(seen);
+        boolean wasUsable = replica.isUsable(maxLagMillis);
+        replica.lagMillis = lagMillis;
+        replica.up = true;
+        replica.lastError = null;
+        if (replica.isUsable(maxLagMillis) != wasUsable) {
+            if (wasUsable) {
+                logger.warn("Replica {} is {} ms behind, reading from the others or the primary", replica.name,
+                        lagMillis);
+            } else {
+                logger.info("Replica {} in use, {} ms behind", replica.name, lagMillis);
+            }
+        }
+    }
+
+    /**
+     * How long ago the oldest heartbeat the replica has not seen was written, 0 if it has seen them all.
+     */
+    private long lagMillis(Instant seen) {
+        synchronized (beats) {
+            for (Beat beat : beats) {
+                if (beat.at().isAfter(seen)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - beat.writtenAtNanos());
+                }
+            }
+        }
+        return 0;
+    }
+
+    private int timeoutSeconds() {
+        return (int) Math.max(1, properties.getTimeout().toSeconds());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("ppesafety.replica.up", replica, r -> r.up ? 1 : 0)
+                    .description("Whether the replica answered its last health check")
+                    .tag("replica", replica.name)
+                    .register(registry);
+            Gauge.builder("ppesafety.replica.lag", replica, r -> r.lagMillis / 1000.0)
+                    .description("Replication lag measured by the last health check")
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .register(registry);
+            FunctionCounter.builder("ppesafety.replica.reads", replica, r -> r.reads.sum())
+                    .description("Read-only connections handed out by the replica")
+                    .tag("replica", replica.name)
+                    .register(registry);
+        }
+        FunctionCounter.builder("ppesafety.replica.fallback", stickyReads, LongAdder::sum)
+                .description("Replica-eligible reads sent to the primary")
+                .tag("reason", "read-your-writes")
+                .register(registry);
+        FunctionCounter.builder("ppesafety.replica.fallback", unavailableReads, LongAdder::sum)
+                .description("Replica-eligible reads sent to the primary")
+                .tag("reason", "unavailable")
+                .register(registry);
+        // Replica pools are not beans, so the shared connection limit metrics do not see them
+        for (Replica replica : replicas) {
+            for (DataSource pool : replica.pools.values()) {
+                if (pool instanceof ConnectionLimitingDataSource limited) {
+                    limited.bindTo(registry);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            for (DataSource pool : replica.pools.values()) {
+                try {
+                    pool.unwrap(HikariDataSource.class).close();
+                } catch (SQLException e) {
+                    logger.warn("Could not close a pool of replica {}: {}", replica.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    public static final class Replica {
+
+        private final String name;
+        private final Map<Workload, DataSource> pools;
+        private final LongAdder reads = new LongAdder();
+        // Unknown until the first check
+        private volatile boolean up;
+        private volatile long lagMillis = -1;
+        private volatile String lastError;
+
+        public Replica(String name, Map<Workload, DataSource> pools) {
+            this.name = name;
+            this.pools = Map.copyOf(pools);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public Map<Workload, DataSource> pools() {
+            return pools;
+        }
+
+        public boolean isUp() {
+            return up;
+        }
+
+        public long lagMillis() {
+            return lagMillis;
+        }
+
+        public String lastError() {
+            return lastError;
+        }
+
+        boolean isUsable(long maxLagMillis) {
+            return up && lagMillis >= 0 && lagMillis <= maxLagMillis;
+        }
+
+        Connection getConnection(Workload workload) throws SQLException {
+            Connection connection = pools.get(workload).getConnection();
+            reads.increment();
+            return connection;
+        }
+    }
+}
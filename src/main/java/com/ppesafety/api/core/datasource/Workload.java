@@ -0,0 +1,17 @@
+package com.ppesafety.api.core.datasource;
+
+/**
+ * Connection pool a unit of work runs on, see {@link WorkloadRoutingDataSource}.
+ */
+public enum Workload {
+
+    /**
+     * Ingestion, authentication and everything not marked otherwise.
+     */
+    PRIMARY,
+
+    /**
+     * Statistics and reports; may point at a read replica.
+     */
+    ANALYTICS
+}
@@ -0,0 +1,49 @@
+package com.ppesafety.api.core.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * The {@link Workload} of the current thread, {@link Workload#PRIMARY} unless set.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.PRIMARY;
+    }
+
+    /**
+     * Sets the current workload and returns the previous setting (null if none)
+     * for {@link #restore}.
+     */
+    public static Workload set(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(Workload previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Runs {@code action} with {@code workload} as the current workload.
+     */
+    public static <T> T call(Workload workload, Supplier<T> action) {
+        Workload previous = set(workload);
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+}
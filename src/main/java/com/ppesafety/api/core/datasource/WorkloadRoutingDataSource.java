@@ -0,0 +1,30 @@
+package com.ppesafety.api.core.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Hands out connections from the pool of the current {@link Workload}, so heavy
+ * statistics queries cannot take the connections ingestion and authentication
+ * need.
+ *
+ * The pool is chosen when a connection is obtained: a transaction (or an open
+ * EntityManager) keeps the connection it started with, even if it later calls
+ * into code of another workload.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(Map<Workload, DataSource> pools) {
+        setTargetDataSources(Map.copyOf(pools));
+        setDefaultTargetDataSource(pools.get(Workload.PRIMARY));
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+}
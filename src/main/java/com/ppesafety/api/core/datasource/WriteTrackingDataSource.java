@@ -0,0 +1,104 @@
+package com.ppesafety.api.core.datasource;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reports users who write to the {@link ReplicaSet}, so their reads stay on the
+ * primary until the replicas have caught up.
+ *
+ * A write is a statement prepared as INSERT, UPDATE, DELETE or MERGE; merely
+ * running a read-write transaction (as every authenticated request does to
+ * load its user) does not count. Within a transaction the write is recorded
+ * once it commits.
+ */
+public class WriteTrackingDataSource extends DelegatingDataSource {
+
+    private static final List<String> WRITES = List.of("insert", "update", "delete", "merge");
+
+    private final ReplicaSet replicas;
+
+    public WriteTrackingDataSource(DataSource target, ReplicaSet replicas) {
+        super(target);
+        this.replicas = replicas;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracked(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracked(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection tracked(Connection target) {
+        AtomicBoolean recorded = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[] {ConnectionProxy.class},
+                (proxy, method, args) -> invoke(proxy, method, args, target, recorded));
+    }
+
+    private Object invoke(Object proxy, Method method, Object[] args, Connection target, AtomicBoolean recorded)
+            throws Throwable {
+        switch (method.getName()) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "getTargetConnection":
+                return target;
+            case "prepareStatement", "prepareCall":
+                if (args[0] instanceof String sql && isWrite(sql) && recorded.compareAndSet(false, true)) {
+                    record();
+                }
+                // fall through
+            default:
+                try {
+                    return method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+        }
+    }
+
+    private void record() {
+        String user = ReplicaContext.currentUser();
+        if (user == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public void afterCommit() {
+                    replicas.recordWrite(user);
+                }
+            });
+        } else {
+            replicas.recordWrite(user);
+        }
+    }
+
+    private static boolean isWrite(String sql) {
+        String trimmed = sql.stripLeading();
+        for (String keyword : WRITES) {
+            if (trimmed.regionMatches(true, 0, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
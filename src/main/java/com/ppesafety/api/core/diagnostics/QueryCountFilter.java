@@ -0,0 +1,117 @@
+package com.ppesafety.api.core.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * Opens a {@link QueryTracker} scope per request for N+1 detection and, outside
+ * the prod profile, reports the number of SQL statements in the
+ * {@code X-Query-Count} response header. The header is set just before the
+ * response body is first written, so nothing is buffered.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Count";
+
+    private final QueryDiagnostics queryDiagnostics;
+    private final boolean headerEnabled;
+
+    public QueryCountFilter(QueryDiagnostics queryDiagnostics, Environment environment,
+            @Value("${diagnostics.query-count-header:true}") boolean queryCountHeader) {
+        this.queryDiagnostics = queryDiagnostics;
+        this.headerEnabled = queryCountHeader && !environment.acceptsProfiles(Profiles.of("prod"));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Image downloads never hit the database and may be handed to sendfile
+        return request.getRequestURI().startsWith(request.getContextPath() + "/uploads/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryTracker.begin();
+        CountingResponse wrapped = headerEnabled ? new CountingResponse(response) : null;
+        try {
+            chain.doFilter(request, wrapped != null ? wrapped : response);
+        } finally {
+            if (wrapped != null) {
+                wrapped.stamp();
+            }
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            // Unmatched requests share one tag value to keep metric cardinality bounded
+            String endpoint = request.getMethod() + " " + (pattern != null ? pattern : "UNMATCHED");
+            queryDiagnostics.requestCompleted(endpoint, QueryTracker.requestStatementCount(), QueryTracker.end());
+        }
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+
+        private boolean stamped;
+
+        CountingResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        void stamp() {
+            if (!stamped && !isCommitted()) {
+                setHeader(HEADER, Long.toString(QueryTracker.requestStatementCount()));
+            }
+            stamped = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stamp();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stamp();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stamp();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            stamp();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            stamp();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            stamp();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.ppesafety.api.core.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates the statements of a finished request for N+1 patterns and keeps
+ * the most recent findings for the diagnostics endpoint.
+ */
+@Component
+public class QueryDiagnostics {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryDiagnostics.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Deque<NPlusOneWarning> recentWarnings = new ArrayDeque<>();
+
+    @Value("${diagnostics.n-plus-one-threshold:5}")
+    private int threshold;
+
+    @Value("${diagnostics.recent-warnings:50}")
+    private int maxRecentWarnings;
+
+    public QueryDiagnostics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    void requestCompleted(String endpoint, long statements, Map<String, Integer> repeats) {
+        for (Map.Entry<String, Integer> entry : repeats.entrySet()) {
+            if (entry.getValue() < threshold) {
+                continue;
+            }
+            logger.warn("Possible N+1 on {}: statement ran {} times ({} statements in request): {}",
+                    endpoint, entry.getValue(), statements, entry.getKey());
+            Counter.builder("ppesafety.db.n_plus_one")
+                    .description("Requests in which a single statement repeated at least the N+1 threshold")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+
+            synchronized (recentWarnings) {
+                recentWarnings.addFirst(new NPlusOneWarning(LocalDateTime.now(), endpoint, entry.getKey(),
+                        entry.getValue(), statements));
+                while (recentWarnings.size() > maxRecentWarnings) {
+                    recentWarnings.removeLast();
+                }
+            }
+        }
+    }
+
+    public List<NPlusOneWarning> recentWarnings() {
+        synchronized (recentWarnings) {
+            return new ArrayList<>(recentWarnings);
+        }
+    }
+
+    public void clear() {
+        synchronized (recentWarnings) {
+            recentWarnings.clear();
+        }
+    }
+
+    public record NPlusOneWarning(LocalDateTime detectedAt, String endpoint, String statement, int executions,
+            long requestStatements) {
+    }
+}
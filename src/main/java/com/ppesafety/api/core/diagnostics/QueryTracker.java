@@ -0,0 +1,105 @@
+package com.ppesafety.api.core.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread.
+ *
+ * Registered as Hibernate's {@link StatementInspector}, so every statement
+ * passes through {@link #inspect}. The running {@link #statementCount()} is
+ * always kept; when a request scope is open ({@link #begin}) identical
+ * statements are also tallied so a statement repeated
+ * {@code threshold} or more times can be reported as a likely N+1.
+ *
+ * Work a request hands to other threads is counted towards it when run
+ * through {@link #call} with the request's {@link #currentRequest}.
+ */
+public final class QueryTracker implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = ThreadLocal.withInitial(Scope::new);
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        scope.statements++;
+        if (scope.request != null) {
+            scope.request.statements.increment();
+            scope.request.repeats.merge(sql, 1, Integer::sum);
+        }
+        return sql;
+    }
+
+    /**
+     * Statements prepared on this thread so far; callers diff two readings.
+     */
+    public static long statementCount() {
+        return CURRENT.get().statements;
+    }
+
+    /**
+     * Starts tallying statements for the request on this thread.
+     */
+    public static void begin() {
+        CURRENT.get().request = new Request();
+    }
+
+    /**
+     * Statements prepared for the current request so far, on any thread; 0 outside a scope.
+     */
+    public static long requestStatementCount() {
+        Request request = CURRENT.get().request;
+        return request != null ? request.statements.sum() : 0;
+    }
+
+    /**
+     * Ends the request scope, returning how often each statement ran.
+     */
+    public static Map<String, Integer> end() {
+        Scope scope = CURRENT.get();
+        Request request = scope.request;
+        scope.request = null;
+        return request != null ? request.repeats : Map.of();
+    }
+
+    /**
+     * The request scope open on this thread, or null if none.
+     */
+    public static Request currentRequest() {
+        return CURRENT.get().request;
+    }
+
+    /**
+     * Runs {@code action} counting its statements towards {@code request}.
+     */
+    public static <T> T call(Request request, Supplier<T> action) {
+        Scope scope = CURRENT.get();
+        Request previous = scope.request;
+        scope.request = request;
+        try {
+            return action.get();
+        } finally {
+            scope.request = previous;
+        }
+    }
+
+    private static final class Scope {
+        long statements;
+        Request request;
+    }
+
+    /**
+     * Statements of one request; shared by the threads working on it.
+     */
+    public static final class Request {
+        private final LongAdder statements = new LongAdder();
+        private final Map<String, Integer> repeats = new ConcurrentHashMap<>();
+
+        private Request() {
+        }
+    }
+}
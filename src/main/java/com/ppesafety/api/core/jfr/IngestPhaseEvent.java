@@ -0,0 +1,39 @@
+package com.ppesafety.api.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One phase of recording a violation: {@code VALIDATION}, {@code FRAME_HASH},
+ * {@code FILE_STORE} or {@code DB_COMMIT}.
+ */
+@Name("com.ppesafety.IngestPhase")
+@Label("Ingest Phase")
+@Category({"PPE Safety", "Ingest"})
+@Description("A phase of violation ingestion")
+@StackTrace(false)
+public class IngestPhaseEvent extends Event {
+
+    public static final String VALIDATION = "VALIDATION";
+    public static final String FRAME_HASH = "FRAME_HASH";
+    public static final String FILE_STORE = "FILE_STORE";
+    public static final String DB_COMMIT = "DB_COMMIT";
+
+    @Label("Phase")
+    public String phase;
+
+    @Label("Employee Id")
+    public long employeeId;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
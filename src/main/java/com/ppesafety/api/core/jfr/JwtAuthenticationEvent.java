@@ -0,0 +1,25 @@
+package com.ppesafety.api.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.ppesafety.JwtAuthentication")
+@Label("JWT Authentication")
+@Category({"PPE Safety", "Security"})
+@Description("Bearer token validation and user lookup for one request")
+@StackTrace(false)
+public class JwtAuthenticationEvent extends Event {
+
+    @Label("Username")
+    public String username;
+
+    @Label("Token Valid")
+    public boolean valid;
+
+    @Label("Authenticated")
+    public boolean authenticated;
+}
@@ -0,0 +1,25 @@
+package com.ppesafety.api.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.ppesafety.Statistics")
+@Label("Statistics")
+@Category({"PPE Safety", "Statistics"})
+@Description("A StatisticsService call, served from cache or computed")
+@StackTrace(false)
+public class StatisticsEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,65 @@
+package com.ppesafety.api.core.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits a {@link StatisticsEvent} per StatisticsService call.
+ *
+ * This aspect runs outside the cache interceptor, while the nested
+ * {@link ComputationMarker} runs inside it (see the caching order in
+ * RedisConfig), so the marker only fires when the method body actually
+ * executes, i.e. on a cache miss.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class StatisticsEventAspect {
+
+    private static final ThreadLocal<boolean[]> COMPUTED = ThreadLocal.withInitial(() -> new boolean[1]);
+
+    @Pointcut("execution(public * com.ppesafety.api.statistics.service.StatisticsService.*(..))")
+    public void statisticsCall() {
+    }
+
+    @Around("statisticsCall()")
+    public Object recordStatisticsEvent(ProceedingJoinPoint joinPoint) throws Throwable {
+        StatisticsEvent event = new StatisticsEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+
+        boolean[] computed = COMPUTED.get();
+        computed[0] = false;
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = joinPoint.getSignature().getName();
+                event.cacheHit = !computed[0];
+                event.commit();
+            }
+        }
+    }
+
+    @Aspect
+    @Component
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public static class ComputationMarker {
+
+        @Around("com.ppesafety.api.core.jfr.StatisticsEventAspect.statisticsCall()")
+        public Object markComputed(ProceedingJoinPoint joinPoint) throws Throwable {
+            COMPUTED.get()[0] = true;
+            return joinPoint.proceed();
+        }
+    }
+}
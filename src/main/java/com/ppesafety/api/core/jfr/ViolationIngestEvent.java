@@ -0,0 +1,34 @@
+package com.ppesafety.api.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.ppesafety.ViolationIngest")
+@Label("Violation Ingest")
+@Category({"PPE Safety", "Ingest"})
+@Description("A camera frame ingested as a new or merged violation")
+@StackTrace(false)
+public class ViolationIngestEvent extends Event {
+
+    @Label("Employee Id")
+    public long employeeId;
+
+    @Label("Image Size")
+    @DataAmount
+    public long imageBytes;
+
+    @Label("Violation Id")
+    public long violationId;
+
+    @Label("Merged")
+    @Description("The frame was merged into an existing violation")
+    public boolean merged;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
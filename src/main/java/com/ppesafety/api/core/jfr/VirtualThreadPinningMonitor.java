@@ -0,0 +1,103 @@
+package com.ppesafety.api.core.jfr;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier thread,
+ * typically inside a {@code synchronized} block or a native call. A pinned
+ * thread holds one of the few carriers for the whole wait, so a pinning hot
+ * spot caps throughput at the carrier count.
+ *
+ * Listens to the JDK {@code jdk.VirtualThreadPinned} event in-process. Each
+ * distinct call site is logged once with its stack; every occurrence is counted.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@ConditionalOnProperty(name = "virtual-threads.pinning.enabled", havingValue = "true", matchIfMissing = true)
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final String APPLICATION_PACKAGE = "com.ppesafety.";
+    private static final int MAX_REPORTED_SITES = 1000;
+    private static final int LOGGED_FRAMES = 20;
+
+    private final Counter pinned;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    @Value("${virtual-threads.pinning.threshold:20ms}")
+    private Duration threshold;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        this.pinned = Counter.builder("ppesafety.virtual-threads.pinned")
+                .description("Virtual threads that blocked while pinned to their carrier for longer than the threshold")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        logger.info("Reporting virtual threads pinned for longer than {}", threshold);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stream.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinned.increment();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace != null ? stackTrace.getFrames() : List.of();
+        String site = site(frames);
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            logger.warn("Virtual thread pinned for {} ms at {}:\n{}", event.getDuration().toMillis(), site,
+                    frames.stream().limit(LOGGED_FRAMES).map(frame -> "\tat " + frame(frame))
+                            .collect(Collectors.joining("\n")));
+        } else {
+            logger.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    /**
+     * The innermost application frame, or the innermost frame when no application code is involved.
+     */
+    private static String site(List<RecordedFrame> frames) {
+        for (RecordedFrame frame : frames) {
+            if (frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return frame(frame);
+            }
+        }
+        return frames.isEmpty() ? "unknown" : frame(frames.get(0));
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,353 @@
+package com.ppesafety.api.core.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Cluster-wide token buckets kept in Redis, with each node spending from a
+ * locally reserved batch of tokens.
+ *
+ * A request normally just decrements the local allowance. When it drops to
+ * half a batch the next batch is reserved in the background, so steady
+ * traffic never waits on Redis; only a request finding the allowance empty
+ * makes the round trip itself (shared with concurrent callers). The cluster
+ * can overshoot a limit by at most the tokens reserved but not yet spent,
+ * i.e. about one batch per node, and idle allowances return their unspent
+ * tokens.
+ *
+ * If Redis is unreachable, or does not answer within {@code reserve-timeout},
+ * and {@code fail-open} is set, each node falls back to a local bucket with
+ * the rule's full capacity.
+ */
+@Component
+public class DistributedRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistributedRateLimiter.class);
+
+    private static final String BUCKET_PREFIX = "ppesafety:rate-limit:bucket:";
+    private static final String METRIC = "ppesafety.ratelimit.requests";
+
+    private static final RedisScript<List> RESERVE = RedisScript.of(
+            new ClassPathResource("ratelimit/reserve.lua"), List.class);
+    private static final RedisScript<Long> RELEASE = RedisScript.of(
+            new ClassPathResource("ratelimit/release.lua"), Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Allowance> allowances = new ConcurrentHashMap<>();
+    private final Map<String, Counter[]> counters = new ConcurrentHashMap<>();
+    private final Timer reserveTimer;
+    private final ThreadPoolExecutor refillExecutor;
+    private volatile long lastRedisWarning;
+
+    public DistributedRateLimiter(StringRedisTemplate redisTemplate,
+            RateLimitProperties properties,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.reserveTimer = Timer.builder("ppesafety.ratelimit.reserve")
+                .description("Redis round trips reserving rate limit tokens")
+                .register(meterRegistry);
+        meterRegistry.gauge("ppesafety.ratelimit.allowances", allowances, Map::size);
+
+        this.refillExecutor = new ThreadPoolExecutor(2, 2, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1024), runnable -> {
+                    Thread thread = new Thread(runnable, "rate-limit-refill");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public record Decision(boolean allowed, long retryAfterMillis) {
+
+        static final Decision ALLOWED = new Decision(true, 0);
+    }
+
+    public Decision acquire(RateLimitRule rule, String key) {
+        Allowance allowance = allowance(rule, key);
+        allowance.lastUsed = System.currentTimeMillis();
+
+        long remaining = allowance.take();
+        if (remaining >= 0) {
+            if (remaining <= rule.batch() / 2) {
+                prefetch(allowance);
+            }
+            return count(rule, Decision.ALLOWED);
+        }
+
+        long now = System.currentTimeMillis();
+        if (now < allowance.blockedUntil) {
+            return count(rule, new Decision(false, allowance.blockedUntil - now));
+        }
+
+        if (!awaitRefill(allowance) && properties.isFailOpen()) {
+            // Redis did not answer within reserve-timeout; limit on this node as if it were down
+            if (allowance.takeLocal(1) > 0) {
+                return count(rule, Decision.ALLOWED);
+            }
+            return count(rule, new Decision(false, Math.max(1000, allowance.localWaitMillis())));
+        }
+        if (allowance.take() >= 0) {
+            prefetch(allowance);
+            return count(rule, Decision.ALLOWED);
+        }
+        return count(rule, new Decision(false, Math.max(1000, allowance.blockedUntil - System.currentTimeMillis())));
+    }
+
+    public long allowed(String ruleName) {
+        Counter[] pair = counters.get(ruleName);
+        return pair != null ? (long) pair[0].count() : 0;
+    }
+
+    public long rejected(String ruleName) {
+        Counter[] pair = counters.get(ruleName);
+        return pair != null ? (long) pair[1].count() : 0;
+    }
+
+    /**
+     * Returns unspent tokens of idle allowances to the shared buckets.
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval:PT30S}")
+    public void releaseIdle() {
+        long cutoff = System.currentTimeMillis() - properties.getIdleTimeout().toMillis();
+        allowances.forEach((id, allowance) -> {
+            if (allowance.lastUsed < cutoff && allowance.refill.get() == null && allowances.remove(id, allowance)) {
+                release(allowance);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refillExecutor.shutdownNow();
+        allowances.values().forEach(this::release);
+        allowances.clear();
+    }
+
+    private Allowance allowance(RateLimitRule rule, String key) {
+        String id = rule.name() + ":" + key;
+        Allowance allowance = allowances.get(id);
+        if (allowance != null && allowance.rule == rule) {
+            return allowance;
+        }
+        return allowances.compute(id, (ignored, existing) -> {
+            if (existing != null && existing.rule == rule) {
+                return existing;
+            }
+            if (existing != null) {
+                // The rule changed; hand back what was reserved under the old one
+                submit(() -> release(existing));
+            }
+            return new Allowance(rule, BUCKET_PREFIX + id);
+        });
+    }
+
+    private void prefetch(Allowance allowance) {
+        if (allowance.refill.get() != null) {
+            return;
+        }
+        CompletableFuture<Void> pending = new CompletableFuture<>();
+        if (allowance.refill.compareAndSet(null, pending) && !submit(() -> reserve(allowance, pending))) {
+            // Dropped prefetch: the next request finding the allowance empty reserves inline
+            allowance.refill.set(null);
+            pending.complete(null);
+        }
+    }
+
+    private boolean submit(Runnable task) {
+        try {
+            refillExecutor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Waits up to {@code reserve-timeout} for a reservation, starting one if
+     * none is in flight; false if Redis did not answer in time.
+     */
+    private boolean awaitRefill(Allowance allowance) {
+        CompletableFuture<Void> pending = allowance.refill.get();
+        if (pending == null) {
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            if (allowance.refill.compareAndSet(null, mine)) {
+                // On the refill pool, so a hanging Redis holds this request no longer than the timeout
+                if (!submit(() -> reserve(allowance, mine))) {
+                    allowance.refill.set(null);
+                    mine.complete(null);
+                    return false;
+                }
+                pending = mine;
+            } else {
+                pending = allowance.refill.get();
+                if (pending == null) {
+                    return true;
+                }
+            }
+        }
+        try {
+            pending.get(properties.getReserveTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            warnRedis(e.getMessage());
+            return false;
+        } catch (TimeoutException e) {
+            warnRedis("no answer within " + properties.getReserveTimeout().toMillis() + "ms");
+            return false;
+        }
+    }
+
+    private void reserve(Allowance allowance, CompletableFuture<Void> pending) {
+        RateLimitRule rule = allowance.rule;
+        try {
+            long granted;
+            long waitMillis;
+            try {
+                List<?> result = reserveTimer.recordCallable(() -> redisTemplate.execute(RESERVE,
+                        List.of(allowance.bucketKey),
+                        Long.toString(rule.capacity()),
+                        Long.toString(rule.period().toMillis()),
+                        Integer.toString(rule.batch())));
+                granted = ((Number) result.get(0)).longValue();
+                waitMillis = ((Number) result.get(1)).longValue();
+                allowance.local = false;
+            } catch (Exception e) {
+                warnRedis(e.getMessage());
+                if (!properties.isFailOpen()) {
+                    granted = 0;
+                    waitMillis = 1000;
+                } else {
+                    allowance.local = true;
+                    granted = allowance.takeLocal(rule.batch());
+                    waitMillis = granted > 0 ? 0 : allowance.localWaitMillis();
+                }
+            }
+
+            allowance.tokens.addAndGet(granted);
+            allowance.blockedUntil = granted > 0 ? 0 : System.currentTimeMillis() + Math.max(1, waitMillis);
+        } finally {
+            allowance.refill.set(null);
+            pending.complete(null);
+        }
+    }
+
+    private void release(Allowance allowance) {
+        long unspent = allowance.tokens.getAndSet(0);
+        if (unspent <= 0 || allowance.local) {
+            return;
+        }
+        RateLimitRule rule = allowance.rule;
+        try {
+            redisTemplate.execute(RELEASE, List.of(allowance.bucketKey),
+                    Long.toString(rule.capacity()),
+                    Long.toString(rule.period().toMillis()),
+                    Long.toString(unspent));
+        } catch (Exception e) {
+            logger.debug("Could not return {} rate limit tokens for {}: {}", unspent, allowance.bucketKey,
+                    e.getMessage());
+        }
+    }
+
+    private Decision count(RateLimitRule rule, Decision decision) {
+        Counter[] pair = counters.computeIfAbsent(rule.name(), name -> new Counter[] {
+                Counter.builder(METRIC).tag("rule", name).tag("outcome", "allowed").register(meterRegistry),
+                Counter.builder(METRIC).tag("rule", name).tag("outcome", "rejected").register(meterRegistry)
+        });
+        pair[decision.allowed() ? 0 : 1].increment();
+        return decision;
+    }
+
+    private void warnRedis(String reason) {
+        long now = System.currentTimeMillis();
+        if (now - lastRedisWarning > 60_000) {
+            lastRedisWarning = now;
+            logger.warn("Rate limit reservation failed, {}: {}",
+                    properties.isFailOpen() ? "limiting per node" : "rejecting", reason);
+        }
+    }
+
+    /**
+     * Tokens reserved by this node for one rule and key.
+     */
+    private static final class Allowance {
+
+        final RateLimitRule rule;
+        final String bucketKey;
+        final AtomicLong tokens = new AtomicLong();
+        final AtomicReference<CompletableFuture<Void>> refill = new AtomicReference<>();
+        volatile long blockedUntil;
+        volatile long lastUsed;
+        volatile boolean local;
+
+        // Node-local bucket used only while Redis is unreachable
+        private double localTokens;
+        private long localUpdatedAt;
+
+        Allowance(RateLimitRule rule, String bucketKey) {
+            this.rule = rule;
+            this.bucketKey = bucketKey;
+            this.localTokens = rule.capacity();
+            this.localUpdatedAt = System.currentTimeMillis();
+        }
+
+        long take() {
+            while (true) {
+                long current = tokens.get();
+                if (current <= 0) {
+                    return -1;
+                }
+                if (tokens.compareAndSet(current, current - 1)) {
+                    return current - 1;
+                }
+            }
+        }
+
+        synchronized long takeLocal(long requested) {
+            refillLocal();
+            long granted = Math.min(requested, (long) localTokens);
+            localTokens -= granted;
+            return granted;
+        }
+
+        synchronized long localWaitMillis() {
+            refillLocal();
+            return localTokens >= 1 ? 0
+                    : (long) Math.ceil((1 - localTokens) * rule.period().toMillis() / rule.capacity());
+        }
+
+        private void refillLocal() {
+            long now = System.currentTimeMillis();
+            localTokens = Math.min(rule.capacity(),
+                    localTokens + (now - localUpdatedAt) * (double) rule.capacity() / rule.period().toMillis());
+            localUpdatedAt = now;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.ppesafety.api.core.ratelimit;
+
+/**
+ * What a rate limit rule counts requests by.
+ */
+public enum KeyType {
+
+    // Authenticated username; client IP for anonymous requests
+    USER,
+
+    // Camera/device id from the device header, per authenticated user; falls back to USER when absent.
+    // The header is client-chosen, so pair a DEVICE rule with a USER rule as a ceiling
+    DEVICE,
+
+    // Client IP address
+    IP
+}
@@ -0,0 +1,98 @@
+package com.ppesafety.api.core.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ppesafety.api.core.dto.ApiResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Applies the matching {@link RateLimitRules} to each request and answers 429
+ * with {@code Retry-After} once a quota is spent.
+ *
+ * Registered at the default (lowest) filter order, i.e. after the Spring
+ * Security chain, so the authenticated user is known when keying by user.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final int MAX_DEVICE_ID_LENGTH = 64;
+
+    private final RateLimitRules rules;
+    private final DistributedRateLimiter limiter;
+    private final RateLimitProperties properties;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitRules rules,
+            DistributedRateLimiter limiter,
+            RateLimitProperties properties,
+            ObjectMapper objectMapper) {
+        this.rules = rules;
+        this.limiter = limiter;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        List<RateLimitRule> matched = rules.matching(request.getMethod(), PathContainer.parsePath(path));
+
+        for (RateLimitRule rule : matched) {
+            DistributedRateLimiter.Decision decision = limiter.acquire(rule, key(rule.key(), request));
+            if (!decision.allowed()) {
+                reject(response, rule, decision.retryAfterMillis());
+                return;
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    private String key(KeyType type, HttpServletRequest request) {
+        if (type == KeyType.IP) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return "ip:" + request.getRemoteAddr();
+        }
+        if (type == KeyType.DEVICE) {
+            String device = request.getHeader(properties.getDeviceHeader());
+            if (device != null && !device.isBlank()) {
+                // Under the user: the header is client-chosen, so one account cannot spend another's device quota
+                String trimmed = device.trim();
+                return "device:" + authentication.getName() + ":" + (trimmed.length() > MAX_DEVICE_ID_LENGTH
+                        ? trimmed.substring(0, MAX_DEVICE_ID_LENGTH) : trimmed);
+            }
+        }
+        return "user:" + authentication.getName();
+    }
+
+    private void reject(HttpServletResponse response, RateLimitRule rule, long retryAfterMillis) throws IOException {
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (retryAfterMillis + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                ApiResponse.error("Rate limit exceeded (" + rule.name() + "), retry later", "RATE_LIMITED"));
+    }
+}
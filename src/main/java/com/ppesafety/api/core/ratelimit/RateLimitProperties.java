@@ -0,0 +1,67 @@
+package com.ppesafety.api.core.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code rate-limit.*} settings. Rules listed here are the defaults; they can
+ * be overridden or added at runtime through {@code /api/admin/rate-limits}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Without Redis, limit per node instead of rejecting every request
+    private boolean failOpen = true;
+
+    // Tokens a node reserves per Redis round trip, as a share of the rule's capacity
+    private double batchFraction = 0.05;
+
+    private Duration reserveTimeout = Duration.ofMillis(250);
+
+    private Duration idleTimeout = Duration.ofMinutes(2);
+
+    private String deviceHeader = "X-Device-Id";
+
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rule {
+
+        private String name;
+
+        // Path pattern, e.g. /api/violations/**
+        private String path;
+
+        // HTTP methods the rule applies to; empty means all
+        @Builder.Default
+        private List<String> methods = new ArrayList<>();
+
+        @Builder.Default
+        private KeyType key = KeyType.USER;
+
+        private long capacity;
+
+        private Duration period;
+
+        // Tokens reserved per round trip; overrides batch-fraction when set
+        private Integer batch;
+
+        @Builder.Default
+        private boolean enabled = true;
+    }
+}
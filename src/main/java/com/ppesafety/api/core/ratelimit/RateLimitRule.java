@@ -0,0 +1,60 @@
+package com.ppesafety.api.core.ratelimit;
+
+import com.ppesafety.api.core.exception.BadRequestException;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PatternParseException;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A validated, immutable rate limit rule. A new instance replaces the old one
+ * on every change, so limiter state keyed to an instance is reset with it.
+ */
+public record RateLimitRule(String name, PathPattern pattern, Set<String> methods, KeyType key, long capacity,
+        Duration period, int batch, boolean enabled) {
+
+    static RateLimitRule of(RateLimitProperties.Rule definition, double batchFraction) {
+        if (definition.getName() == null || !definition.getName().matches("[A-Za-z0-9_-]{1,64}")) {
+            throw new BadRequestException("Rate limit name must be 1-64 letters, digits, '-' or '_'");
+        }
+        if (definition.getPath() == null || definition.getPath().isBlank()) {
+            throw new BadRequestException("Rate limit " + definition.getName() + " needs a path");
+        }
+        if (definition.getCapacity() <= 0) {
+            throw new BadRequestException("Rate limit capacity must be positive");
+        }
+        if (definition.getPeriod() == null || definition.getPeriod().toMillis() <= 0) {
+            throw new BadRequestException("Rate limit period must be positive");
+        }
+
+        PathPattern pattern;
+        try {
+            pattern = PathPatternParser.defaultInstance.parse(definition.getPath());
+        } catch (PatternParseException e) {
+            throw new BadRequestException("Invalid rate limit path: " + e.getMessage());
+        }
+
+        int batch = definition.getBatch() != null
+                ? definition.getBatch()
+                : (int) Math.round(definition.getCapacity() * batchFraction);
+        batch = (int) Math.max(1, Math.min(definition.getCapacity(), batch));
+
+        Set<String> methods = definition.getMethods() == null ? Set.of()
+                : definition.getMethods().stream()
+                        .map(method -> method.trim().toUpperCase(Locale.ROOT))
+                        .collect(Collectors.toUnmodifiableSet());
+
+        return new RateLimitRule(definition.getName(), pattern, methods,
+                definition.getKey() != null ? definition.getKey() : KeyType.USER,
+                definition.getCapacity(), definition.getPeriod(), batch, definition.isEnabled());
+    }
+
+    boolean matches(String method, PathContainer path) {
+        return enabled && (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+    }
+}
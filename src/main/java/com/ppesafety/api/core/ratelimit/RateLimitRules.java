@@ -0,0 +1,186 @@
+package com.ppesafety.api.core.ratelimit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The active rate limit rules: the configured defaults with runtime overrides
+ * applied. Overrides are stored in a Redis hash so every node (and every node
+ * started later) sees them; a change is announced on a channel and each node
+ * reloads.
+ */
+@Component
+public class RateLimitRules implements MessageListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitRules.class);
+
+    public static final String CHANNEL = "ppesafety:rate-limit-rules";
+    private static final String OVERRIDES_KEY = "ppesafety:rate-limit:rules";
+
+    private final RateLimitProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Map<String, RateLimitProperties.Rule> definitions;
+    private volatile List<RateLimitRule> rules;
+    private volatile Set<String> overridden = Set.of();
+
+    public RateLimitRules(RateLimitProperties properties,
+            StringRedisTemplate redisTemplate,
+            ObjectMapper objectMapper,
+            RedisMessageListenerContainer listenerContainer) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        // Defaults apply until overrides are loaded, so requests arriving during startup are limited too
+        apply(defaults());
+        if (properties.isEnabled()) {
+            listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        Map<String, RateLimitProperties.Rule> merged = defaults();
+        Set<String> names = new HashSet<>();
+        try {
+            for (Map.Entry<Object, Object> entry : redisTemplate.opsForHash().entries(OVERRIDES_KEY).entrySet()) {
+                try {
+                    merged.put((String) entry.getKey(),
+                            objectMapper.readValue((String) entry.getValue(), RateLimitProperties.Rule.class));
+                    names.add((String) entry.getKey());
+                } catch (JsonProcessingException e) {
+                    logger.warn("Ignoring unreadable rate limit override {}: {}", entry.getKey(), e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            logger.warn("Could not load rate limit overrides, using configured rules: {}", e.getMessage());
+        }
+        apply(merged);
+        overridden = Set.copyOf(names);
+    }
+
+    public List<RateLimitRule> rules() {
+        return rules;
+    }
+
+    public Optional<RateLimitProperties.Rule> definition(String name) {
+        return Optional.ofNullable(definitions.get(name));
+    }
+
+    public boolean isOverridden(String name) {
+        return overridden.contains(name);
+    }
+
+    /**
+     * Rules applying to a request, in definition order.
+     */
+    List<RateLimitRule> matching(String method, PathContainer path) {
+        List<RateLimitRule> current = rules;
+        List<RateLimitRule> matched = null;
+        for (RateLimitRule rule : current) {
+            if (rule.matches(method, path)) {
+                if (matched == null) {
+                    matched = new ArrayList<>(2);
+                }
+                matched.add(rule);
+            }
+        }
+        return matched != null ? matched : List.of();
+    }
+
+    /**
+     * Stores a rule as a cluster-wide override (creating it if new) and applies it on every node.
+     */
+    public RateLimitRule save(RateLimitProperties.Rule definition) {
+        RateLimitRule rule = RateLimitRule.of(definition, properties.getBatchFraction());
+        try {
+            redisTemplate.opsForHash().put(OVERRIDES_KEY, definition.getName(),
+                    objectMapper.writeValueAsString(definition));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize rate limit rule", e);
+        }
+        reload();
+        publish();
+        return rule;
+    }
+
+    /**
+     * Drops the override for a rule: configured rules revert to their defaults, runtime-only rules disappear.
+     */
+    public boolean reset(String name) {
+        boolean removed = redisTemplate.opsForHash().delete(OVERRIDES_KEY, name) > 0;
+        if (removed) {
+            reload();
+            publish();
+        }
+        return removed;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        if (!nodeId.equals(new String(message.getBody(), StandardCharsets.UTF_8))) {
+            reload();
+            logger.info("Rate limit rules reloaded after remote change");
+        }
+    }
+
+    private Map<String, RateLimitProperties.Rule> defaults() {
+        Map<String, RateLimitProperties.Rule> defaults = new LinkedHashMap<>();
+        for (RateLimitProperties.Rule rule : properties.getRules()) {
+            defaults.put(rule.getName(), rule);
+        }
+        return defaults;
+    }
+
+    private void apply(Map<String, RateLimitProperties.Rule> merged) {
+        Map<String, RateLimitRule> previous = new HashMap<>();
+        if (rules != null) {
+            rules.forEach(rule -> previous.put(rule.name(), rule));
+        }
+
+        List<RateLimitRule> built = new ArrayList<>(merged.size());
+        for (RateLimitProperties.Rule definition : merged.values()) {
+            try {
+                RateLimitRule rule = RateLimitRule.of(definition, properties.getBatchFraction());
+                // Keep unchanged instances so their reserved tokens survive a reload
+                built.add(rule.equals(previous.get(rule.name())) ? previous.get(rule.name()) : rule);
+            } catch (RuntimeException e) {
+                logger.warn("Ignoring invalid rate limit rule {}: {}", definition.getName(), e.getMessage());
+            }
+        }
+        definitions = merged;
+        rules = List.copyOf(built);
+    }
+
+    private void publish() {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId);
+        } catch (Exception e) {
+            logger.warn("Could not announce rate limit rule change: {}", e.getMessage());
+        }
+    }
+}
@@ -1,19 +1,16 @@
 package com.ppesafety.api.core.service;
 
 import com.ppesafety.api.core.exception.BadRequestException;
+import com.ppesafety.api.core.jfr.IngestPhaseEvent;
+import com.ppesafety.api.core.storage.StorageBackend;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import jakarta.annotation.PostConstruct;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.io.InputStream;
 import java.util.Set;
 import java.util.UUID;
 
@@ -24,20 +21,12 @@ public class FileStorageService {
     private static final Set<String> ALLOWED_EXTENSIONS = Set.of("jpg", "jpeg", "png", "webp");
     private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
 
-    @Value("${file.upload-dir:uploads}")
-    private String uploadDir;
+    private final StorageBackend storageBackend;
+    private final ImageRecompressionService imageRecompressionService;
 
-    private Path uploadPath;
-
-    @PostConstruct
-    public void init() {
-        uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
-        try {
-            Files.createDirectories(uploadPath);
-            logger.info("File upload directory created: {}", uploadPath);
-        } catch (IOException e) {
-            throw new RuntimeException("Could not create upload directory: " + uploadPath, e);
-        }
+    public FileStorageService(StorageBackend storageBackend, ImageRecompressionService imageRecompressionService) {
+        this.storageBackend = storageBackend;
+        this.imageRecompressionService = imageRecompressionService;
     }
 
     public String storeFile(MultipartFile file) {
@@ -60,27 +49,33 @@ public class FileStorageService {
         // Generate unique filename
         String newFilename = UUID.randomUUID().toString() + "." + extension;
 
-        try {
-            Path targetLocation = uploadPath.resolve(newFilename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+        IngestPhaseEvent event = new IngestPhaseEvent();
+        event.begin();
+        try (InputStream content = file.getInputStream()) {
+            storageBackend.store(newFilename, content, file.getSize(), file.getContentType());
+            event.succeeded = true;
             logger.info("Stored file: {}", newFilename);
+            imageRecompressionService.submit(newFilename);
             return newFilename;
         } catch (IOException e) {
             throw new RuntimeException("Could not store file " + originalFilename, e);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = IngestPhaseEvent.FILE_STORE;
+                event.bytes = file.getSize();
+                event.commit();
+            }
         }
     }
 
-    public Path getFilePath(String filename) {
-        return uploadPath.resolve(filename).normalize();
-    }
-
     public void deleteFile(String filename) {
         if (filename == null || filename.isBlank())
             return;
 
+        imageRecompressionService.cancel(filename);
         try {
-            Path filePath = uploadPath.resolve(filename).normalize();
-            Files.deleteIfExists(filePath);
+            storageBackend.delete(filename);
             logger.info("Deleted file: {}", filename);
         } catch (IOException e) {
             logger.error("Could not delete file: {}", filename, e);
@@ -0,0 +1,424 @@
+package com.ppesafety.api.core.service;
+
+import com.ppesafety.api.core.storage.StorageBackend;
+import com.ppesafety.api.core.storage.StoredObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.color.ColorSpace;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Re-encodes uploaded camera frames in the background to a bounded resolution
+ * and JPEG quality, then atomically swaps the stored object.
+ *
+ * Work runs on a small fixed pool with a bounded queue; when the queue is full
+ * the image is simply kept as uploaded. The format (and therefore the URL) never
+ * changes: JPEGs are re-encoded at the configured quality, PNGs are only
+ * downscaled. The result is kept only if it saves at least {@code min-savings}.
+ * The re-encoded image carries no metadata, so the EXIF orientation is applied
+ * to the pixels and embedded color profiles are converted to sRGB first.
+ * Deleting an upload cancels its recompression ({@link #cancel}), so a late
+ * rewrite cannot recreate the file.
+ * Objects are only rewritten within {@code rewrite-window} of their last
+ * modification; after that they are final and may be cached as immutable.
+ */
+@Service
+public class ImageRecompressionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageRecompressionService.class);
+
+    /**
+     * Storage prefix for pre-recompression copies; never served under {@code /uploads/}.
+     */
+    public static final String ORIGINALS_PREFIX = "originals/";
+
+    private static final String JPEG_METADATA_FORMAT = "javax_imageio_jpeg_image_1.0";
+    private static final int APP1_MARKER = 0xE1;
+    private static final int ORIENTATION_TAG = 0x0112;
+
+    private final StorageBackend storageBackend;
+
+    @Value("${file.recompression.enabled:true}")
+    private boolean enabled;
+
+    @Value("${file.recompression.max-dimension:1920}")
+    private int maxDimension;
+
+    @Value("${file.recompression.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    @Value("${file.recompression.min-savings:0.1}")
+    private double minSavings;
+
+    @Value("${file.recompression.workers:2}")
+    private int workers;
+
+    @Value("${file.recompression.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${file.recompression.rewrite-window:PT10M}")
+    private Duration rewriteWindow;
+
+    @Value("${file.recompression.keep-original:false}")
+    private boolean keepOriginal;
+
+    @Value("${file.recompression.original-retention:7d}")
+    private Duration originalRetention;
+
+    private ThreadPoolExecutor executor;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private static final class Job {
+        final ReentrantLock lock = new ReentrantLock();
+        boolean cancelled;
+    }
+
+    public ImageRecompressionService(StorageBackend storageBackend) {
+        this.storageBackend = storageBackend;
+    }
+
+    @PostConstruct
+    public void init() {
+        ImageIO.setUseCache(false);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-recompress-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queues a stored image for recompression. Never blocks the caller.
+     */
+    public void submit(String filename) {
+        if (!enabled) {
+            return;
+        }
+        Job job = new Job();
+        jobs.put(filename, job);
+        try {
+            executor.execute(() -> recompress(filename));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(filename, job);
+            logger.warn("Recompression queue full, keeping {} as uploaded", filename);
+        }
+    }
+
+    /**
+     * Cancels pending or running recompression of {@code filename}. Call before
+     * deleting it: waits for a rewrite that is already being stored, and keeps
+     * any later one from recreating the file.
+     */
+    public void cancel(String filename) {
+        Job job = jobs.get(filename);
+        if (job == null) {
+            return;
+        }
+        job.lock.lock();
+        try {
+            job.cancelled = true;
+        } finally {
+            job.lock.unlock();
+        }
+    }
+
+    /**
+     * How much longer an object last modified at {@code lastModified} may still be
+     * rewritten in place; zero once it is final.
+     */
+    public Duration rewritableFor(long lastModified) {
+        if (!enabled) {
+            return Duration.ZERO;
+        }
+        Duration left = Duration.between(Instant.now(), Instant.ofEpochMilli(lastModified).plus(rewriteWindow));
+        return left.isNegative() ? Duration.ZERO : left;
+    }
+
+    public void recompress(String filename) {
+        Job job = jobs.computeIfAbsent(filename, name -> new Job());
+        try {
+            recompress(filename, job);
+        } finally {
+            jobs.remove(filename, job);
+        }
+    }
+
+    private void recompress(String filename, Job job) {
+        String format = formatOf(filename);
+        if (format == null) {
+            return;
+        }
+
+        try {
+            StoredObject object = storageBackend.stat(filename).orElse(null);
+            if (object == null) {
+                return;
+            }
+            if (Instant.ofEpochMilli(object.lastModified()).plus(rewriteWindow).isBefore(Instant.now())) {
+                // Already served as immutable; rewriting it now would leave stale copies in caches
+                logger.debug("Skipping recompression of {}: older than {}", filename, rewriteWindow);
+                return;
+            }
+
+            byte[] original;
+            try (InputStream in = storageBackend.read(filename, 0, object.size() - 1)) {
+                original = in.readNBytes((int) object.size());
+            }
+
+            BufferedImage image = decode(original);
+            if (image == null) {
+                logger.debug("Skipping recompression of {}: unreadable image", filename);
+                return;
+            }
+
+            boolean needsResize = Math.max(image.getWidth(), image.getHeight()) > maxDimension;
+            if (!needsResize && format.equals("png")) {
+                return;
+            }
+
+            byte[] recompressed = encode(needsResize ? downscale(image) : image, format);
+            if (recompressed.length > original.length * (1 - minSavings)) {
+                logger.debug("Skipping recompression of {}: {} -> {} bytes", filename, original.length,
+                        recompressed.length);
+                return;
+            }
+
+            job.lock.lock();
+            try {
+                if (job.cancelled) {
+                    logger.debug("Skipping recompression of {}: deleted meanwhile", filename);
+                    return;
+                }
+                if (keepOriginal) {
+                    storageBackend.store(ORIGINALS_PREFIX + filename, new ByteArrayInputStream(original),
+                            original.length, "image/" + format);
+                }
+                storageBackend.store(filename, new ByteArrayInputStream(recompressed), recompressed.length,
+                        "image/" + format);
+            } finally {
+                job.lock.unlock();
+            }
+            logger.info("Recompressed {}: {} -> {} bytes", filename, original.length, recompressed.length);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Could not recompress {}: {}", filename, e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${file.recompression.sweep-interval:PT1H}")
+    public void purgeExpiredOriginals() {
+        if (!keepOriginal) {
+            return;
+        }
+        try {
+            int deleted = storageBackend.deleteOlderThan(ORIGINALS_PREFIX, Instant.now().minus(originalRetention));
+            if (deleted > 0) {
+                logger.info("Purged {} original images older than {}", deleted, originalRetention);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not purge expired original images: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Decodes an image upright and in sRGB, or returns null if no reader understands it.
+     */
+    private BufferedImage decode(byte[] data) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, false);
+                BufferedImage image = reader.read(0);
+                return normalize(image, exifOrientation(reader.getImageMetadata(0)));
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage normalize(BufferedImage image, int orientation) {
+        ColorSpace colorSpace = image.getColorModel().getColorSpace();
+        boolean gray = colorSpace == ColorSpace.getInstance(ColorSpace.CS_GRAY);
+        if (orientation == 1 && (colorSpace.isCS_sRGB() || gray)) {
+            return image;
+        }
+
+        int width = image.getWidth();
+        int height = image.getHeight();
+        // Maps stored pixels to their displayed position, per EXIF orientation 1-8
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0);
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height);
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height);
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0);
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0);
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width);
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, width);
+            default -> new AffineTransform();
+        };
+        boolean transposed = orientation >= 5;
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB
+                : gray ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_INT_RGB;
+
+        // Drawing into a standard sRGB image also converts from an embedded ICC profile
+        BufferedImage upright = new BufferedImage(transposed ? height : width, transposed ? width : height, type);
+        Graphics2D graphics = upright.createGraphics();
+        graphics.drawImage(image, transform, null);
+        graphics.dispose();
+        return upright;
+    }
+
+    /**
+     * The orientation tag of a JPEG's EXIF block, 1 (as stored) if there is none.
+     */
+    private static int exifOrientation(IIOMetadata metadata) {
+        if (metadata == null || !JPEG_METADATA_FORMAT.equals(metadata.getNativeMetadataFormatName())) {
+            return 1;
+        }
+        IIOMetadataNode root = (IIOMetadataNode) metadata.getAsTree(JPEG_METADATA_FORMAT);
+        var markers = root.getElementsByTagName("unknown");
+        for (int i = 0; i < markers.getLength(); i++) {
+            IIOMetadataNode marker = (IIOMetadataNode) markers.item(i);
+            if (Integer.parseInt(marker.getAttribute("MarkerTag")) == APP1_MARKER
+                    && marker.getUserObject() instanceof byte[] data) {
+                int orientation = exifOrientation(data);
+                if (orientation != 0) {
+                    return orientation;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static int exifOrientation(byte[] app1) {
+        // "Exif\0\0", then a TIFF header (byte order, 42, offset of IFD0) and IFD0 with 12-byte entries
+        if (app1.length < 14 || !new String(app1, 0, 4, StandardCharsets.US_ASCII).equals("Exif")) {
+            return 0;
+        }
+        ByteBuffer tiff = ByteBuffer.wrap(app1, 6, app1.length - 6).slice();
+        tiff.order(tiff.get(0) == 'I' ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int ifd = tiff.getInt(4);
+        if (ifd < 8 || ifd + 2 > tiff.limit()) {
+            return 0;
+        }
+        int entries = tiff.getShort(ifd) & 0xFFFF;
+        for (int i = 0; i < entries; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (entry + 12 > tiff.limit()) {
+                break;
+            }
+            if ((tiff.getShort(entry) & 0xFFFF) == ORIENTATION_TAG) {
+                int orientation = tiff.getShort(entry + 8) & 0xFFFF;
+                return orientation >= 1 && orientation <= 8 ? orientation : 0;
+            }
+        }
+        return 0;
+    }
+
+    private BufferedImage downscale(BufferedImage image) {
+        double scale = (double) maxDimension / Math.max(image.getWidth(), image.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        int type = image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        // Halve repeatedly before the final step; a single bilinear pass aliases badly on large reductions
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(current, 0, 0, width, height, null);
+            graphics.dispose();
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format).next();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(output);
+            ImageWriteParam params = writer.getDefaultWriteParam();
+            if (format.equals("jpeg")) {
+                params.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                params.setCompressionQuality(jpegQuality);
+                params.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            }
+            writer.write(null, new IIOImage(image, null, null), params);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private String formatOf(String filename) {
+        String lower = filename.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".jpg") || lower.endsWith(".jpeg")) {
+            return "jpeg";
+        }
+        if (lower.endsWith(".png")) {
+            return "png";
+        }
+        // WEBP has no built-in ImageIO codec
+        return null;
+    }
+}
@@ -0,0 +1,162 @@
+package com.ppesafety.api.core.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Stores uploads on the local filesystem under {@code file.upload-dir}.
+ *
+ * Generated filenames live in a two-level hex shard ({@code ab/cd/abcd...jpg});
+ * files still in the old flat layout are found there until the
+ * {@link UploadLayoutMigrator} has moved them.
+ */
+@Component
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalStorageBackend implements StorageBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalStorageBackend.class);
+
+    // Generated filenames are UUIDs; their leading hex digits pick the shard directories
+    private static final Pattern SHARDABLE_FILENAME = Pattern.compile("[0-9a-f]{4}[0-9a-f-]*\\.[a-z]+");
+
+    @Value("${file.upload-dir:uploads}")
+    private String uploadDir;
+
+    private Path uploadPath;
+
+    @PostConstruct
+    public void init() {
+        uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(uploadPath);
+            logger.info("File upload directory created: {}", uploadPath);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not create upload directory: " + uploadPath, e);
+        }
+    }
+
+    @Override
+    public void store(String key, InputStream content, long size, String contentType) throws IOException {
+        Path targetLocation = getFilePath(key);
+        Files.createDirectories(targetLocation.getParent());
+
+        // Write next to the target and rename, so replacing an image is atomic for readers
+        Path tempFile = targetLocation.resolveSibling("." + targetLocation.getFileName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.copy(content, tempFile);
+            Files.move(tempFile, targetLocation, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) {
+        Path filePath = getFilePath(key);
+        if (!filePath.startsWith(uploadPath)) {
+            return Optional.empty();
+        }
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(filePath, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return Optional.empty();
+            }
+            return Optional.of(new StoredObject(key, attributes.size(),
+                    attributes.lastModifiedTime().toMillis(), filePath));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public InputStream read(String key, long start, long end) throws IOException {
+        FileChannel channel = FileChannel.open(getFilePath(key), StandardOpenOption.READ);
+        channel.position(start);
+        return Channels.newInputStream(channel);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Path shardedPath = getShardedPath(key);
+        if (shardedPath != null) {
+            Files.deleteIfExists(shardedPath);
+        }
+        Files.deleteIfExists(getLegacyPath(key));
+    }
+
+    @Override
+    public int deleteOlderThan(String prefix, Instant cutoff) throws IOException {
+        Path directory = getLegacyPath(prefix);
+        if (!directory.startsWith(uploadPath) || !Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        int deleted = 0;
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                if (Files.getLastModifiedTime(file).toInstant().isBefore(cutoff) && Files.deleteIfExists(file)) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Resolves a stored filename to its location on disk, preferring the sharded
+     * layout and falling back to the legacy flat path.
+     */
+    public Path getFilePath(String filename) {
+        Path legacyPath = getLegacyPath(filename);
+        Path shardedPath = getShardedPath(filename);
+        if (shardedPath == null) {
+            return legacyPath;
+        }
+        if (!Files.exists(shardedPath) && Files.exists(legacyPath)) {
+            return legacyPath;
+        }
+        return shardedPath;
+    }
+
+    public Path getUploadPath() {
+        return uploadPath;
+    }
+
+    /**
+     * Location of a file in the sharded layout, or null if the filename is not
+     * a generated (shardable) name.
+     */
+    public Path getShardedPath(String filename) {
+        if (!SHARDABLE_FILENAME.matcher(filename).matches()) {
+            return null;
+        }
+        return uploadPath.resolve(filename.substring(0, 2))
+                .resolve(filename.substring(2, 4))
+                .resolve(filename)
+                .normalize();
+    }
+
+    public Path getLegacyPath(String filename) {
+        return uploadPath.resolve(filename).normalize();
+    }
+}
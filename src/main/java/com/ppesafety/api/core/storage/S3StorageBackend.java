@@ -0,0 +1,276 @@
+package com.ppesafety.api.core.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Stores uploads in an S3-compatible bucket (AWS S3, MinIO, ...), so every API
+ * node sees every upload without a shared disk.
+ *
+ * Uses the non-blocking Netty client with a bounded connection pool. Objects
+ * larger than one part are sent as a multipart upload whose parts are uploaded
+ * in parallel and completed asynchronously; the request thread only waits for
+ * the final completion so the object is visible before the violation is saved.
+ * A multipart upload that fails or exceeds {@code upload-timeout} is aborted;
+ * parts still in flight at that moment can outlive the abort, so the bucket
+ * should also carry an AbortIncompleteMultipartUpload lifecycle rule.
+ */
+@Component
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "s3")
+public class S3StorageBackend implements StorageBackend {
+
+    private static final Logger logger = LoggerFactory.getLogger(S3StorageBackend.class);
+
+    // S3 rejects multipart parts smaller than 5MB (except the last one)
+    private static final int MIN_PART_SIZE = 5 * 1024 * 1024;
+
+    @Value("${file.storage.s3.bucket}")
+    private String bucket;
+
+    @Value("${file.storage.s3.key-prefix:uploads/}")
+    private String keyPrefix;
+
+    @Value("${file.storage.s3.region:us-east-1}")
+    private String region;
+
+    @Value("${file.storage.s3.endpoint:}")
+    private String endpoint;
+
+    @Value("${file.storage.s3.access-key:}")
+    private String accessKey;
+
+    @Value("${file.storage.s3.secret-key:}")
+    private String secretKey;
+
+    @Value("${file.storage.s3.path-style-access:false}")
+    private boolean pathStyleAccess;
+
+    @Value("${file.storage.s3.create-bucket:false}")
+    private boolean createBucket;
+
+    @Value("${file.storage.s3.part-size:5242880}")
+    private int partSize;
+
+    @Value("${file.storage.s3.max-connections:64}")
+    private int maxConnections;
+
+    @Value("${file.storage.s3.upload-timeout:30s}")
+    private Duration uploadTimeout;
+
+    @Value("${file.storage.s3.read-timeout:10s}")
+    private Duration readTimeout;
+
+    private S3AsyncClient client;
+
+    @PostConstruct
+    public void init() {
+        partSize = Math.max(partSize, MIN_PART_SIZE);
+
+        AwsCredentialsProvider credentials = StringUtils.hasText(accessKey)
+                ? StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey))
+                : DefaultCredentialsProvider.create();
+
+        var builder = S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(credentials)
+                .forcePathStyle(pathStyleAccess)
+                .httpClientBuilder(NettyNioAsyncHttpClient.builder()
+                        .maxConcurrency(maxConnections)
+                        .connectionAcquisitionTimeout(Duration.ofSeconds(10)));
+        if (StringUtils.hasText(endpoint)) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        client = builder.build();
+
+        if (createBucket) {
+            ensureBucket();
+        }
+        logger.info("S3 storage backend initialised for bucket {} ({})", bucket,
+                StringUtils.hasText(endpoint) ? endpoint : region);
+    }
+
+    @PreDestroy
+    public void close() {
+        client.close();
+    }
+
+    @Override
+    public void store(String key, InputStream content, long size, String contentType) throws IOException {
+        String objectKey = keyPrefix + key;
+        CompletableFuture<?> upload = size <= partSize
+                ? client.putObject(r -> r.bucket(bucket).key(objectKey).contentType(contentType),
+                        AsyncRequestBody.fromBytes(content.readAllBytes()))
+                : uploadMultipart(objectKey, content, contentType);
+        await(upload, "store " + key);
+    }
+
+    @Override
+    public Optional<StoredObject> stat(String key) throws IOException {
+        HeadObjectResponse head;
+        try {
+            head = await(client.headObject(r -> r.bucket(bucket).key(keyPrefix + key)), "stat " + key, readTimeout);
+        } catch (IOException e) {
+            if (isNotFound(e.getCause())) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+        return Optional.of(new StoredObject(key, head.contentLength(), head.lastModified().toEpochMilli(), null));
+    }
+
+    @Override
+    public InputStream read(String key, long start, long end) throws IOException {
+        // Completes once the response headers arrive; the body is then streamed by the caller
+        return await(client.getObject(r -> r.bucket(bucket).key(keyPrefix + key).range("bytes=" + start + "-" + end),
+                AsyncResponseTransformer.toBlockingInputStream()), "read " + key, readTimeout);
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        await(client.deleteObject(r -> r.bucket(bucket).key(keyPrefix + key)), "delete " + key);
+    }
+
+    @Override
+    public int deleteOlderThan(String prefix, Instant cutoff) throws IOException {
+        List<ObjectIdentifier> expired = new ArrayList<>();
+        await(client.listObjectsV2Paginator(r -> r.bucket(bucket).prefix(keyPrefix + prefix))
+                .contents()
+                .subscribe(object -> {
+                    if (object.lastModified().isBefore(cutoff)) {
+                        expired.add(ObjectIdentifier.builder().key(object.key()).build());
+                    }
+                }), "list " + prefix);
+
+        // DeleteObjects accepts at most 1000 keys per request
+        for (int from = 0; from < expired.size(); from += 1000) {
+            List<ObjectIdentifier> batch = expired.subList(from, Math.min(from + 1000, expired.size()));
+            await(client.deleteObjects(r -> r.bucket(bucket).delete(d -> d.objects(batch).quiet(true))),
+                    "delete expired " + prefix);
+        }
+        return expired.size();
+    }
+
+    private CompletableFuture<?> uploadMultipart(String objectKey, InputStream content, String contentType)
+            throws IOException {
+        String uploadId = await(client.createMultipartUpload(r -> r.bucket(bucket).key(objectKey)
+                .contentType(contentType)), "start upload of " + objectKey, uploadTimeout).uploadId();
+
+        // Parts are read sequentially from the request stream but uploaded concurrently
+        List<CompletableFuture<CompletedPart>> parts = new ArrayList<>();
+        try {
+            byte[] chunk;
+            int partNumber = 1;
+            while ((chunk = content.readNBytes(partSize)).length > 0) {
+                int number = partNumber++;
+                parts.add(client.uploadPart(r -> r.bucket(bucket).key(objectKey).uploadId(uploadId).partNumber(number),
+                                AsyncRequestBody.fromBytes(chunk))
+                        .thenApply(response -> CompletedPart.builder()
+                                .partNumber(number)
+                                .eTag(response.eTag())
+                                .build()));
+            }
+        } catch (IOException e) {
+            abort(objectKey, uploadId);
+            throw e;
+        }
+
+        CompletableFuture<?> upload = CompletableFuture.allOf(parts.toArray(new CompletableFuture[0]))
+                .thenCompose(ignored -> client.completeMultipartUpload(r -> r
+                        .bucket(bucket)
+                        .key(objectKey)
+                        .uploadId(uploadId)
+                        .multipartUpload(CompletedMultipartUpload.builder()
+                                .parts(parts.stream().map(CompletableFuture::join).toList())
+                                .build())));
+        // Attached to the returned stage itself, so cancelling it on timeout in await() also aborts the upload
+        // (and keeps it from being completed later)
+        upload.whenComplete((result, error) -> {
+            if (error != null) {
+                abort(objectKey, uploadId);
+            }
+        });
+        return upload;
+    }
+
+    private void abort(String objectKey, String uploadId) {
+        client.abortMultipartUpload(r -> r.bucket(bucket).key(objectKey).uploadId(uploadId))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        logger.warn("Could not abort multipart upload {} for {}: {}",
+                                uploadId, objectKey, error.getMessage());
+                    }
+                });
+    }
+
+    private void await(CompletableFuture<?> future, String operation) throws IOException {
+        await(future, operation, uploadTimeout);
+    }
+
+    /**
+     * Waits at most {@code timeout} for {@code future}. Failures are rethrown as an
+     * IOException whose cause is the SDK exception.
+     */
+    private <T> T await(CompletableFuture<T> future, String operation, Duration timeout) throws IOException {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw new IOException("S3 " + operation + " failed", e.getCause());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new IOException("S3 " + operation + " timed out after " + timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("S3 " + operation + " interrupted", e);
+        }
+    }
+
+    private void ensureBucket() {
+        try {
+            client.headBucket(r -> r.bucket(bucket)).join();
+        } catch (CompletionException e) {
+            if (!isNotFound(e.getCause())) {
+                throw e;
+            }
+            client.createBucket(r -> r.bucket(bucket)).join();
+            logger.info("Created S3 bucket {}", bucket);
+        }
+    }
+
+    private boolean isNotFound(Throwable error) {
+        return error instanceof S3Exception s3Exception && s3Exception.statusCode() == 404;
+    }
+}
@@ -0,0 +1,42 @@
+package com.ppesafety.api.core.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Storage SPI for uploaded images. Keys are the generated filenames returned by
+ * {@link com.ppesafety.api.core.service.FileStorageService#storeFile}.
+ *
+ * The implementation is selected with {@code file.storage.type} ({@code local} or {@code s3}).
+ */
+public interface StorageBackend {
+
+    /**
+     * Writes an object. Replacing an existing key is atomic: readers see either
+     * the old or the new content, never a partial write.
+     */
+    void store(String key, InputStream content, long size, String contentType) throws IOException;
+
+    /**
+     * @return the object's metadata, or empty if there is no object under {@code key}
+     * @throws IOException if the backend could not be asked
+     */
+    Optional<StoredObject> stat(String key) throws IOException;
+
+    /**
+     * Opens an object positioned at {@code start}. At least {@code end - start + 1}
+     * bytes are readable; callers must not read past {@code end}.
+     */
+    InputStream read(String key, long start, long end) throws IOException;
+
+    void delete(String key) throws IOException;
+
+    /**
+     * Deletes all objects under {@code prefix} last modified before {@code cutoff}.
+     *
+     * @return the number of deleted objects
+     */
+    int deleteOlderThan(String prefix, Instant cutoff) throws IOException;
+}
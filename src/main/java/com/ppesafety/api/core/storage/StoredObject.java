@@ -0,0 +1,10 @@
+package com.ppesafety.api.core.storage;
+
+import java.nio.file.Path;
+
+/**
+ * Metadata of a stored object. {@code localFile} is set only by backends that keep
+ * objects on the local filesystem, which lets callers use zero-copy transfers.
+ */
+public record StoredObject(String key, long size, long lastModified, Path localFile) {
+}
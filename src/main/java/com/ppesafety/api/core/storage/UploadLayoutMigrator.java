@@ -0,0 +1,131 @@
+package com.ppesafety.api.core.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Moves files from the legacy flat upload directory into the hash-sharded layout.
+ *
+ * Runs once in the background after startup. The flat directory itself is the
+ * work queue, so an interrupted run simply resumes with the files that are left;
+ * a marker file records completion so later startups skip the scan entirely.
+ * Reads keep working throughout because {@link LocalStorageBackend#getFilePath}
+ * falls back to the flat location.
+ */
+@Component
+@ConditionalOnProperty(name = "file.storage.type", havingValue = "local", matchIfMissing = true)
+public class UploadLayoutMigrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadLayoutMigrator.class);
+
+    static final String COMPLETED_MARKER = ".sharded-layout";
+
+    private final LocalStorageBackend storageBackend;
+
+    @Value("${file.sharding.migrate-on-startup:true}")
+    private boolean migrateOnStartup;
+
+    @Value("${file.sharding.batch-size:500}")
+    private int batchSize;
+
+    @Value("${file.sharding.batch-pause-ms:100}")
+    private long batchPauseMs;
+
+    public UploadLayoutMigrator(LocalStorageBackend storageBackend) {
+        this.storageBackend = storageBackend;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startMigration() {
+        if (!migrateOnStartup || Files.exists(storageBackend.getUploadPath().resolve(COMPLETED_MARKER))) {
+            return;
+        }
+        Thread worker = new Thread(this::migrate, "upload-layout-migrator");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public void migrate() {
+        Path uploadPath = storageBackend.getUploadPath();
+        long moved = 0;
+        long failed = 0;
+
+        logger.info("Migrating flat uploads in {} to sharded layout", uploadPath);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadPath, Files::isRegularFile)) {
+            for (Path source : files) {
+                Path target = storageBackend.getShardedPath(source.getFileName().toString());
+                if (target == null) {
+                    continue;
+                }
+
+                if (move(source, target)) {
+                    moved++;
+                } else {
+                    failed++;
+                }
+
+                if (moved > 0 && moved % batchSize == 0) {
+                    logger.info("Upload layout migration progress: {} files moved", moved);
+                    Thread.sleep(batchPauseMs);
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Upload layout migration aborted after {} files; it will resume on next start", moved, e);
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.warn("Upload layout migration interrupted after {} files", moved);
+            return;
+        }
+
+        if (failed > 0) {
+            logger.warn("Upload layout migration moved {} files, {} failed and will be retried on next start",
+                    moved, failed);
+            return;
+        }
+
+        try {
+            Files.writeString(uploadPath.resolve(COMPLETED_MARKER), "sharded\n");
+        } catch (IOException e) {
+            logger.warn("Could not write upload layout marker: {}", e.getMessage());
+        }
+        logger.info("Upload layout migration completed: {} files moved", moved);
+    }
+
+    private boolean move(Path source, Path target) {
+        try {
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(source, target);
+            }
+            return true;
+        } catch (FileAlreadyExistsException e) {
+            // Already migrated by an earlier, interrupted run
+            try {
+                Files.deleteIfExists(source);
+                return true;
+            } catch (IOException ex) {
+                logger.warn("Could not remove migrated upload {}: {}", source, ex.getMessage());
+                return false;
+            }
+        } catch (IOException e) {
+            logger.warn("Could not migrate upload {}: {}", source, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.ppesafety.api.core.web;
+
+import com.ppesafety.api.core.service.ImageRecompressionService;
+import com.ppesafety.api.core.storage.StorageBackend;
+import com.ppesafety.api.core.storage.StoredObject;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.HttpRequestHandler;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Serves uploaded violation images from {@code /uploads/**}, except the
+ * originals kept by {@link ImageRecompressionService}.
+ *
+ * Validators (ETag / Last-Modified) are derived from file metadata instead of
+ * hashing the content. UUID-named uploads are served with an immutable one-year
+ * Cache-Control once background recompression can no longer rewrite them; until
+ * then max-age only runs to the end of that window. Single byte ranges and If-Range are
+ * honoured. The body is handed to Tomcat's sendfile support when available
+ * (zero-copy), otherwise frequently viewed files come from a bounded
+ * memory-mapped hot set and the rest is streamed through a file channel.
+ * Objects in a remote {@link StorageBackend} are streamed with the same headers,
+ * fetching only the requested range.
+ */
+@Component
+public class ImageServingHandler implements HttpRequestHandler {
+
+    public static final String URL_PREFIX = "/uploads/";
+
+    private static final Pattern UUID_FILENAME = Pattern.compile(
+            "(?:.*/)?[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}\\.[a-z]+");
+
+    private static final String IMMUTABLE_CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final StorageBackend storageBackend;
+    private final ImageRecompressionService recompressionService;
+    private final MappedImageCache hotSet;
+
+    @Value("${file.serving.sendfile-enabled:true}")
+    private boolean sendfileEnabled;
+
+    @Value("${file.serving.sendfile-min-size:49152}")
+    private long sendfileMinSize;
+
+    @Value("${file.serving.default-max-age:86400}")
+    private long defaultMaxAge;
+
+    public ImageServingHandler(StorageBackend storageBackend, ImageRecompressionService recompressionService,
+            @Value("${file.serving.hot-set.max-bytes:67108864}") long hotSetMaxBytes,
+            @Value("${file.serving.hot-set.max-file-size:2097152}") long hotSetMaxFileSize,
+            @Value("${file.serving.hot-set.admit-after-hits:3}") int hotSetAdmitAfterHits) {
+        this.storageBackend = storageBackend;
+        this.recompressionService = recompressionService;
+        this.hotSet = new MappedImageCache(hotSetMaxBytes, hotSetMaxFileSize, hotSetAdmitAfterHits);
+    }
+
+    @Override
+    public void handleRequest(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpMethod method = HttpMethod.valueOf(request.getMethod());
+        if (method != HttpMethod.GET && method != HttpMethod.HEAD) {
+            response.setHeader(HttpHeaders.ALLOW, "GET, HEAD");
+            response.sendError(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            return;
+        }
+
+        String filename = extractFilename(request);
+        StoredObject object = filename != null ? storageBackend.stat(filename).orElse(null) : null;
+        if (object == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = object.size();
+        long lastModified = object.lastModified();
+        String etag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl(filename, lastModified));
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (new ServletWebRequest(request, response).checkNotModified(etag, lastModified)) {
+            return;
+        }
+
+        MediaType mediaType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(mediaType.toString());
+
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader != null && length > 0 && ifRangeMatches(request, etag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException ex) {
+                ranges = List.of();
+            }
+            // Multiple ranges are legal to ignore; a full 200 response is cheaper than multipart/byteranges
+            if (ranges.size() == 1) {
+                try {
+                    start = ranges.get(0).getRangeStart(length);
+                    end = ranges.get(0).getRangeEnd(length);
+                } catch (IllegalArgumentException ex) {
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                    return;
+                }
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        if (method == HttpMethod.HEAD || count <= 0) {
+            return;
+        }
+
+        Path file = object.localFile();
+        if (file == null) {
+            OutputStream out = response.getOutputStream();
+            try (InputStream in = storageBackend.read(filename, start, end)) {
+                long remaining = count;
+                byte[] buffer = new byte[8192];
+                int read;
+                while (remaining > 0 && (read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining))) != -1) {
+                    out.write(buffer, 0, read);
+                    remaining -= read;
+                }
+            }
+            return;
+        }
+
+        if (sendfileEnabled && count >= sendfileMinSize
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+        ByteBuffer mapped = hotSet.get(file, length, lastModified);
+        if (mapped != null) {
+            mapped.position((int) start).limit((int) (end + 1));
+            while (mapped.hasRemaining()) {
+                target.write(mapped);
+            }
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = start;
+            while (position <= end) {
+                position += channel.transferTo(position, end + 1 - position, target);
+            }
+        }
+    }
+
+    private String cacheControl(String filename, long lastModified) {
+        if (!UUID_FILENAME.matcher(filename).matches()) {
+            return "public, max-age=" + defaultMaxAge;
+        }
+        Duration rewritable = recompressionService.rewritableFor(lastModified);
+        if (rewritable.isZero()) {
+            return IMMUTABLE_CACHE_CONTROL;
+        }
+        return "public, max-age=" + Math.min(defaultMaxAge, rewritable.toSeconds());
+    }
+
+    private String extractFilename(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (!path.startsWith(URL_PREFIX) || path.length() == URL_PREFIX.length() || path.contains("..")) {
+            return null;
+        }
+        String filename = path.substring(URL_PREFIX.length());
+        // Kept originals share the storage root but are not part of the public upload space
+        if (filename.startsWith(ImageRecompressionService.ORIGINALS_PREFIX)) {
+            return null;
+        }
+        return filename;
+    }
+
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        try {
+            long ifRangeDate = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return ifRangeDate != -1 && lastModified / 1000 <= ifRangeDate / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ppesafety.api.core.web;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded hot set of memory-mapped images.
+ *
+ * A file is only mapped once it has been requested {@code admitAfterHits} times,
+ * so one-off views never displace frequently viewed images. Entries are evicted
+ * in least-recently-used order once the mapped byte total exceeds the budget.
+ */
+public class MappedImageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(MappedImageCache.class);
+
+    private final long maxBytes;
+    private final long maxFileSize;
+    private final int admitAfterHits;
+    private final int maxTrackedFiles;
+
+    private final Map<Path, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private final LinkedHashMap<Path, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long mappedBytes;
+
+    public MappedImageCache(long maxBytes, long maxFileSize, int admitAfterHits) {
+        this.maxBytes = maxBytes;
+        this.maxFileSize = maxFileSize;
+        this.admitAfterHits = admitAfterHits;
+        this.maxTrackedFiles = 10_000;
+    }
+
+    /**
+     * Returns a read-only view of the mapped file, or null when the file is not
+     * (yet) part of the hot set. The entry is invalidated if the file has changed.
+     */
+    public ByteBuffer get(Path file, long size, long lastModified) {
+        if (maxBytes <= 0 || size > maxFileSize) {
+            return null;
+        }
+
+        synchronized (entries) {
+            Entry entry = entries.get(file);
+            if (entry != null) {
+                if (entry.size == size && entry.lastModified == lastModified) {
+                    return entry.buffer.asReadOnlyBuffer();
+                }
+                remove(file);
+            }
+        }
+
+        if (hits.size() > maxTrackedFiles) {
+            hits.clear();
+        }
+        int count = hits.computeIfAbsent(file, k -> new AtomicInteger()).incrementAndGet();
+        if (count < admitAfterHits) {
+            return null;
+        }
+
+        hits.remove(file);
+        return admit(file, size, lastModified);
+    }
+
+    public void invalidate(Path file) {
+        hits.remove(file);
+        synchronized (entries) {
+            remove(file);
+        }
+    }
+
+    private ByteBuffer admit(Path file, long size, long lastModified) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            logger.debug("Could not map image {}: {}", file, e.getMessage());
+            return null;
+        }
+
+        synchronized (entries) {
+            remove(file);
+            entries.put(file, new Entry(buffer, size, lastModified));
+            mappedBytes += size;
+
+            Iterator<Map.Entry<Path, Entry>> eldest = entries.entrySet().iterator();
+            while (mappedBytes > maxBytes && eldest.hasNext()) {
+                mappedBytes -= eldest.next().getValue().size;
+                eldest.remove();
+            }
+        }
+        return buffer.asReadOnlyBuffer();
+    }
+
+    private void remove(Path file) {
+        Entry removed = entries.remove(file);
+        if (removed != null) {
+            mappedBytes -= removed.size;
+        }
+    }
+
+    private record Entry(MappedByteBuffer buffer, long size, long lastModified) {
+    }
+}
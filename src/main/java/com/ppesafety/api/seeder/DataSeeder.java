@@ -8,6 +8,7 @@ import com.ppesafety.api.violation.repository.ViolationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,12 +17,13 @@ import java.time.LocalDateTime;
 import java.util.*;
 
 @Component
+@Order(0) // Before SyntheticDataGenerator, which reports as the seeded specialist
 public class DataSeeder implements CommandLineRunner {
 
         private static final Logger logger = LoggerFactory.getLogger(DataSeeder.class);
 
         private static final List<String> LABELS = Arrays.asList("Helmet", "Vest");
-        private static final List<String> LOCATIONS = Arrays.asList(
+        static final List<String> LOCATIONS = Arrays.asList(
                         "Production Floor A",
                         "Warehouse B",
                         "Loading Dock",
@@ -30,7 +32,7 @@ public class DataSeeder implements CommandLineRunner {
                         "Maintenance Area",
                         "Construction Site",
                         "Outdoor Work Area");
-        private static final List<String> IMAGE_URLS = Arrays.asList(
+        static final List<String> IMAGE_URLS = Arrays.asList(
                         "/uploads/default-violations/1.jpg",
                         "/uploads/default-violations/2.jpg",
                         "/uploads/default-violations/3.jpg",
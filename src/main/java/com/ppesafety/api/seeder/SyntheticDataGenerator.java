@@ -0,0 +1,390 @@
+package com.ppesafety.api.seeder;
+
+import com.ppesafety.api.user.entity.Role;
+import com.ppesafety.api.violation.entity.ViolationLabels;
+import com.ppesafety.api.violation.service.ViolationPartitionManager;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk-loads a large synthetic dataset for load tests and statistics query
+ * benchmarks. Enabled with the {@code synthetic} profile; runs after
+ * {@link DataSeeder} and reports every violation as its specialist.
+ *
+ * Violations are generated in chunks of {@code batch-size} rows on
+ * {@code threads} workers and written with PostgreSQL COPY (or JDBC batches).
+ * Each chunk draws from its own random stream derived from the seed and the
+ * chunk index, so the same seed and sizes give the same rows whatever the
+ * thread count. Timestamps are relative to the current date.
+ *
+ * Distributions: violations per employee follow a Zipf curve (a few repeat
+ * offenders), each employee works mostly at one home location, weekdays and
+ * day shifts dominate, and label sets mirror typical detector output.
+ */
+@Component
+@Order(1)
+@ConditionalOnProperty(name = "seeder.synthetic.enabled", havingValue = "true")
+public class SyntheticDataGenerator implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    private static final String USERNAME_PREFIX = "synthetic-employee-";
+
+    private static final String COPY_SQL = "COPY violations (image_url, label_mask, employee_id, reported_by_id, "
+            + "location, timestamp, occurrence_count, last_occurrence_at) FROM STDIN";
+    private static final String INSERT_SQL = "INSERT INTO violations (image_url, label_mask, employee_id, "
+            + "reported_by_id, location, timestamp, occurrence_count, last_occurrence_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Label sets as the detector reports them, with relative frequency
+    private static final short[] LABEL_SETS = {
+            ViolationLabels.encode(List.of("Person", "No Helmet")),
+            ViolationLabels.encode(List.of("Person", "No Vest")),
+            ViolationLabels.encode(List.of("Person", "No Helmet", "No Vest")),
+            ViolationLabels.encode(List.of("Head", "No Helmet")),
+            ViolationLabels.encode(List.of("Person", "Helmet", "No Vest")),
+            ViolationLabels.encode(List.of("Person", "Vest", "No Helmet"))
+    };
+    private static final double[] LABEL_WEIGHTS = {40, 35, 15, 5, 3, 2};
+
+    // Share of violations by hour of day: two day shifts and a thin night shift
+    private static final double[] HOUR_WEIGHTS = {
+            1, 1, 1, 1, 1, 2, 6, 9, 10, 10, 9, 7,
+            6, 8, 9, 9, 8, 6, 4, 3, 2, 2, 1, 1
+    };
+    private static final double WEEKEND_WEIGHT = 0.3;
+    private static final double HOME_LOCATION_SHARE = 0.8;
+    private static final double REPEAT_SHARE = 0.15;
+
+    private static final String[] FIRST_NAMES = {
+            "Mehmet", "Ayşe", "Mustafa", "Fatma", "Ali", "Zeynep", "Ahmet", "Elif", "Hüseyin", "Emine",
+            "Hasan", "Hatice", "İbrahim", "Merve", "Murat", "Esra", "Emre", "Büşra", "Burak", "Derya"
+    };
+    private static final String[] LAST_NAMES = {
+            "Demir", "Kaya", "Öztürk", "Çelik", "Yıldız", "Yılmaz", "Şahin", "Aydın", "Arslan", "Doğan",
+            "Kılıç", "Aslan", "Çetin", "Kara", "Koç", "Kurt", "Özdemir", "Polat", "Erdoğan", "Güneş"
+    };
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final CacheManager cacheManager;
+    private final ViolationPartitionManager partitionManager;
+
+    @Value("${seeder.synthetic.employees:2000}")
+    private int employeeCount;
+
+    @Value("${seeder.synthetic.violations:1000000}")
+    private long violationCount;
+
+    @Value("${seeder.synthetic.days:365}")
+    private int days;
+
+    @Value("${seeder.synthetic.seed:42}")
+    private long seed;
+
+    @Value("${seeder.synthetic.batch-size:10000}")
+    private int batchSize;
+
+    @Value("${seeder.synthetic.threads:4}")
+    private int threads;
+
+    @Value("${seeder.synthetic.bulk-mode:copy}")
+    private String bulkMode;
+
+    @Value("${seeder.synthetic.employee-skew:1.0}")
+    private double employeeSkew;
+
+    public SyntheticDataGenerator(DataSource dataSource,
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            CacheManager cacheManager,
+            ViolationPartitionManager partitionManager) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.cacheManager = cacheManager;
+        this.partitionManager = partitionManager;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+        Long existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM users WHERE username LIKE ?", Long.class, USERNAME_PREFIX + "%");
+        if (existing != null && existing > 0) {
+            logger.info("Synthetic dataset already present ({} employees). Skipping generation.", existing);
+            return;
+        }
+
+        List<Long> reporter = jdbcTemplate.queryForList(
+                "SELECT id FROM users WHERE username = 'specialist'", Long.class);
+        if (reporter.isEmpty()) {
+            throw new IllegalStateException("Synthetic data needs the specialist user created by DataSeeder");
+        }
+
+        long started = System.nanoTime();
+        logger.info("Generating synthetic dataset: {} employees, {} violations over {} days (seed {}, {} mode, {} threads)",
+                employeeCount, violationCount, days, seed, bulkMode, threads);
+
+        long[] employeeIds = insertEmployees();
+        Plan plan = new Plan(employeeIds, reporter.get(0));
+        // Load straight into the monthly partitions instead of through the default one
+        partitionManager.ensurePartitions(YearMonth.from(plan.lastDay.minusDays(days)), YearMonth.from(plan.lastDay));
+        insertViolations(plan);
+
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE violations");
+        evictCaches();
+
+        logger.info("Synthetic dataset generated in {} s",
+                (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private long[] insertEmployees() {
+        SplittableRandom random = new SplittableRandom(seed);
+        // Hashing is deliberately slow; every synthetic employee shares one password
+        String password = passwordEncoder.encode("emp123");
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> rows = new ArrayList<>(employeeCount);
+        for (int i = 1; i <= employeeCount; i++) {
+            String username = String.format("%s%06d", USERNAME_PREFIX, i);
+            String fullName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            rows.add(new Object[] {username, password, username + "@ppesafety.com", fullName,
+                    Role.ROLE_EMPLOYEE.name(), createdAt});
+        }
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO users (username, password, email, full_name, role, created_at) VALUES (?, ?, ?, ?, ?, ?)",
+                    rows.subList(from, Math.min(rows.size(), from + batchSize)));
+        }
+
+        long[] ids = jdbcTemplate.queryForList("SELECT id FROM users WHERE username LIKE ? ORDER BY username",
+                Long.class, USERNAME_PREFIX + "%").stream().mapToLong(Long::longValue).toArray();
+        logger.info("Created {} synthetic employees", ids.length);
+        return ids;
+    }
+
+    private void insertViolations(Plan plan) throws InterruptedException, ExecutionException {
+        if (violationCount <= 0 || plan.employeeIds.length == 0) {
+            return;
+        }
+
+        long chunks = (violationCount + batchSize - 1) / batchSize;
+        AtomicLong written = new AtomicLong();
+        long reportEvery = Math.max(batchSize, violationCount / 10);
+        boolean copy = "copy".equalsIgnoreCase(bulkMode);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "synthetic-data");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                long index = chunk;
+                int rows = (int) Math.min(batchSize, violationCount - chunk * batchSize);
+                futures.add(executor.submit(() -> {
+                    List<Row> generated = plan.generate(index, rows);
+                    if (copy) {
+                        copy(generated);
+                    } else {
+                        batchInsert(generated);
+                    }
+                    long total = written.addAndGet(rows);
+                    if (total / reportEvery != (total - rows) / reportEvery) {
+                        logger.info("Inserted {} / {} synthetic violations", total, violationCount);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void copy(List<Row> rows) throws SQLException {
+        // COPY text format: tab-separated, \N for null; generated values never contain tabs or backslashes
+        StringBuilder data = new StringBuilder(rows.size() * 160);
+        for (Row row : rows) {
+            data.append(row.imageUrl()).append('\t')
+                    .append(row.labelMask()).append('\t')
+                    .append(row.employeeId()).append('\t')
+                    .append(row.reportedById()).append('\t')
+                    .append(row.location()).append('\t')
+                    .append(row.timestamp()).append('\t')
+                    .append(row.occurrenceCount()).append('\t')
+                    .append(row.lastOccurrenceAt() != null ? row.lastOccurrenceAt().toString() : "\\N")
+                    .append('\n');
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL, new StringReader(data.toString()));
+        } catch (java.io.IOException e) {
+            throw new SQLException("COPY into violations failed", e);
+        }
+    }
+
+    private void batchInsert(List<Row> rows) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            args.add(new Object[] {row.imageUrl(), row.labelMask(), row.employeeId(), row.reportedById(),
+                    row.location(), Timestamp.valueOf(row.timestamp()), row.occurrenceCount(),
+                    row.lastOccurrenceAt() != null ? Timestamp.valueOf(row.lastOccurrenceAt()) : null});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, args);
+    }
+
+    private void evictCaches() {
+        for (String name : List.of("statistics", "violations")) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private record Row(String imageUrl, short labelMask, long employeeId, long reportedById, String location,
+            LocalDateTime timestamp, int occurrenceCount, LocalDateTime lastOccurrenceAt) {
+    }
+
+    /**
+     * Seed-derived distributions shared (read-only) by all generator threads.
+     */
+    private final class Plan {
+
+        private final long[] employeeIds;
+        private final long reportedById;
+        private final double[] employeeCumulative;
+        private final int[] homeLocation;
+        private final double[] labelCumulative = cumulative(LABEL_WEIGHTS);
+        private final double[] hourCumulative = cumulative(HOUR_WEIGHTS);
+        private final LocalDate lastDay = LocalDate.now();
+
+        Plan(long[] employeeIds, long reportedById) {
+            this.employeeIds = employeeIds;
+            this.reportedById = reportedById;
+
+            SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+            // Zipf weights over a seeded permutation, so offenders aren't simply the lowest ids
+            double[] weights = new double[employeeIds.length];
+            int[] order = shuffledIndexes(employeeIds.length, random);
+            for (int rank = 0; rank < order.length; rank++) {
+                weights[order[rank]] = 1.0 / Math.pow(rank + 1, employeeSkew);
+            }
+            this.employeeCumulative = cumulative(weights);
+
+            this.homeLocation = new int[employeeIds.length];
+            for (int i = 0; i < homeLocation.length; i++) {
+                homeLocation[i] = random.nextInt(DataSeeder.LOCATIONS.size());
+            }
+        }
+
+        List<Row> generate(long chunk, int count) {
+            SplittableRandom random = new SplittableRandom(seed + chunk * 0x9E3779B97F4A7C15L);
+            List<Row> rows = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                int employee = pick(employeeCumulative, random);
+                int location = random.nextDouble() < HOME_LOCATION_SHARE
+                        ? homeLocation[employee]
+                        : random.nextInt(DataSeeder.LOCATIONS.size());
+
+                LocalDateTime timestamp = timestamp(random);
+                int occurrences = 1;
+                LocalDateTime lastOccurrenceAt = null;
+                if (random.nextDouble() < REPEAT_SHARE) {
+                    // Merged repeat reports: geometric, mostly 2-3
+                    occurrences = 2;
+                    while (occurrences < 20 && random.nextDouble() < 0.4) {
+                        occurrences++;
+                    }
+                    lastOccurrenceAt = timestamp.plusSeconds((long) occurrences * random.nextInt(5, 30));
+                }
+
+                rows.add(new Row(
+                        DataSeeder.IMAGE_URLS.get(random.nextInt(DataSeeder.IMAGE_URLS.size())),
+                        LABEL_SETS[pick(labelCumulative, random)],
+                        employeeIds[employee],
+                        reportedById,
+                        DataSeeder.LOCATIONS.get(location),
+                        timestamp,
+                        occurrences,
+                        lastOccurrenceAt));
+            }
+            return rows;
+        }
+
+        private LocalDateTime timestamp(SplittableRandom random) {
+            LocalDate day;
+            do {
+                day = lastDay.minusDays(random.nextInt(days));
+            } while (isWeekend(day) && random.nextDouble() >= WEEKEND_WEIGHT);
+            return day.atTime(pick(hourCumulative, random), random.nextInt(60), random.nextInt(60));
+        }
+    }
+
+    private static boolean isWeekend(LocalDate day) {
+        return day.getDayOfWeek() == DayOfWeek.SATURDAY || day.getDayOfWeek() == DayOfWeek.SUNDAY;
+    }
+
+    private static int[] shuffledIndexes(int size, SplittableRandom random) {
+        int[] indexes = new int[size];
+        Arrays.setAll(indexes, i -> i);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = indexes[i];
+            indexes[i] = indexes[j];
+            indexes[j] = swap;
+        }
+        return indexes;
+    }
+
+    private static double[] cumulative(double[] weights) {
+        double[] cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        return cumulative;
+    }
+
+    private static int pick(double[] cumulative, SplittableRandom random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        return Math.min(index >= 0 ? index + 1 : -index - 1, cumulative.length - 1);
+    }
+}
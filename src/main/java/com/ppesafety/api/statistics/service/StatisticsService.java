@@ -1,46 +1,92 @@
 package com.ppesafety.api.statistics.service;
 
-import com.ppesafety.api.core.exception.ResourceNotFoundException;
+import com.ppesafety.api.core.annotation.AnalyticsWorkload;
+import com.ppesafety.api.core.annotation.ReplicaReads;
+import com.ppesafety.api.core.datasource.ReplicaContext;
+import com.ppesafety.api.core.datasource.Workload;
+import com.ppesafety.api.core.datasource.WorkloadContext;
+import com.ppesafety.api.core.diagnostics.QueryTracker;
 import com.ppesafety.api.statistics.dto.*;
+import com.ppesafety.api.user.dto.EmployeeEntry;
 import com.ppesafety.api.user.entity.Role;
-import com.ppesafety.api.user.entity.User;
-import com.ppesafety.api.user.repository.UserRepository;
+import com.ppesafety.api.user.service.EmployeeDirectory;
 import com.ppesafety.api.violation.dto.ViolationDto;
 import com.ppesafety.api.violation.entity.Violation;
+import com.ppesafety.api.violation.entity.ViolationLabels;
 import com.ppesafety.api.violation.mapper.ViolationMapper;
 import com.ppesafety.api.violation.repository.ViolationRepository;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAdjusters;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 @Transactional(readOnly = true)
+@AnalyticsWorkload
+@ReplicaReads
 public class StatisticsService {
 
     private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
 
     private final ViolationRepository violationRepository;
-    private final UserRepository userRepository;
+    private final EmployeeDirectory employeeDirectory;
     private final ViolationMapper violationMapper;
+    private final ThreadPoolExecutor queryExecutor;
 
     public StatisticsService(ViolationRepository violationRepository,
-            UserRepository userRepository,
-            ViolationMapper violationMapper) {
+            EmployeeDirectory employeeDirectory,
+            ViolationMapper violationMapper,
+            @Value("${statistics.query-threads:4}") int queryThreads) {
         this.violationRepository = violationRepository;
-        this.userRepository = userRepository;
+        this.employeeDirectory = employeeDirectory;
         this.violationMapper = violationMapper;
+
+        // When saturated the caller runs the query itself, which is the sequential behaviour
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.queryExecutor = new ThreadPoolExecutor(queryThreads, queryThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(100),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "statistics-query-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        queryExecutor.shutdownNow();
     }
 
+    /**
+     * The five dashboard queries are independent, so they run concurrently,
+     * each on its own connection, and a cache miss takes about as long as the
+     * slowest of them. No transaction: the caller would otherwise hold a
+     * connection while waiting for the others, and with enough concurrent
+     * misses the pool could run dry with every holder waiting.
+     */
     @Cacheable(value = "statistics", key = "'dashboard'")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public DashboardStats getDashboardStats() {
         logger.info("Calculating dashboard statistics (cache miss)");
 
@@ -50,11 +96,20 @@ public class StatisticsService {
         LocalDateTime monthStart = now.withDayOfMonth(1)
                 .withHour(0).withMinute(0).withSecond(0);
 
-        long totalViolations = violationRepository.count();
-        long violationsThisWeek = violationRepository.countByTimestampBetween(weekStart, now);
-        long violationsThisMonth = violationRepository.countByTimestampBetween(monthStart, now);
+        // Slowest first, so they start before the pool fills up
+        CompletableFuture<List<Object[]>> labelCounts = query(
+                () -> violationRepository.findLabelMaskCountsByTimeRange(monthStart, now));
+        CompletableFuture<List<Object[]>> topViolatorCounts = query(
+                () -> violationRepository.findTopViolatorsByTimeRange(monthStart, now, 5));
+        CompletableFuture<Long> total = query(violationRepository::count);
+        CompletableFuture<Long> thisMonth = query(() -> violationRepository.countByTimestampBetween(monthStart, now));
+        CompletableFuture<Long> thisWeek = query(() -> violationRepository.countByTimestampBetween(weekStart, now));
 
-        Map<String, Long> violationsByLabel = getViolationsByLabel(monthStart, now);
+        long totalViolations = await(total);
+        long violationsThisWeek = await(thisWeek);
+        long violationsThisMonth = await(thisMonth);
+
+        Map<String, Long> violationsByLabel = getViolationsByLabel(await(labelCounts));
 
         String mostViolatedRule = null;
         long mostViolatedRuleCount = 0;
@@ -65,7 +120,7 @@ public class StatisticsService {
             }
         }
 
-        Map<String, Long> topViolators = getTopViolators(monthStart, now, 5);
+        Map<String, Long> topViolators = getTopViolators(await(topViolatorCounts));
 
         return DashboardStats.builder()
                 .totalViolations(totalViolations)
@@ -82,8 +137,7 @@ public class StatisticsService {
     public EmployeeStats getEmployeeStats(Long employeeId) {
         logger.info("Calculating employee statistics for {} (cache miss)", employeeId);
 
-        User employee = userRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee", employeeId));
+        EmployeeEntry employee = employeeDirectory.require(employeeId);
 
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime weekStart = now.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY))
@@ -91,15 +145,15 @@ public class StatisticsService {
         LocalDateTime monthStart = now.withDayOfMonth(1)
                 .withHour(0).withMinute(0).withSecond(0);
 
-        long totalViolations = violationRepository.countByEmployeeId(employeeId);
-        long violationsThisWeek = violationRepository.countByEmployeeIdAndTimestampBetween(
-                employeeId, weekStart, now);
-        long violationsThisMonth = violationRepository.countByEmployeeIdAndTimestampBetween(
-                employeeId, monthStart, now);
+        // One scan of the employee's rows instead of three counts
+        Object[] counts = violationRepository.findEmployeeCounts(employeeId, weekStart, monthStart, now).get(0);
+        long totalViolations = ((Number) counts[0]).longValue();
+        long violationsThisWeek = ((Number) counts[1]).longValue();
+        long violationsThisMonth = ((Number) counts[2]).longValue();
 
         return EmployeeStats.builder()
                 .employeeId(employeeId)
-                .employeeName(employee.getFullName())
+                .employeeName(employee.fullName())
                 .totalViolations(totalViolations)
                 .violationsThisWeek(violationsThisWeek)
                 .violationsThisMonth(violationsThisMonth)
@@ -118,48 +172,33 @@ public class StatisticsService {
         LocalDateTime start = startDate.atStartOfDay();
         LocalDateTime end = endDate.plusDays(1).atStartOfDay();
 
-        List<Violation> violations = violationRepository.findByTimestampBetween(start, end);
-
-        // Group by date
-        Map<LocalDate, Long> dailyCounts = violations.stream()
-                .collect(Collectors.groupingBy(
-                        v -> v.getTimestamp().toLocalDate(),
-                        Collectors.counting()));
-
-        // Fill in missing dates with 0
-        List<TimeSeriesStats.DailyCount> counts = new ArrayList<>();
-        for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-            counts.add(TimeSeriesStats.DailyCount.builder()
-                    .date(date)
-                    .count(dailyCounts.getOrDefault(date, 0L))
-                    .build());
-        }
-
-        // Group by label
-        Map<String, List<TimeSeriesStats.DailyCount>> byLabel = new HashMap<>();
-        for (Violation v : violations) {
-            LocalDate date = v.getTimestamp().toLocalDate();
-            for (String label : v.getLabels()) {
-                byLabel.computeIfAbsent(label, k -> new ArrayList<>());
+        // (date, label mask, count) rows; each count goes to its day and to every label in its mask
+        int dayCount = (int) ChronoUnit.DAYS.between(startDate, endDate) + 1;
+        long[] daily = new long[dayCount];
+        long[][] labelDaily = new long[ViolationLabels.size()][dayCount];
+        for (Object[] row : violationRepository.findDailyLabelMaskCounts(start, end)) {
+            int day = (int) ChronoUnit.DAYS.between(startDate, toLocalDate(row[0]));
+            if (day < 0 || day >= dayCount) {
+                continue;
+            }
+            int mask = ((Number) row[1]).intValue();
+            long count = ((Number) row[2]).longValue();
+            daily[day] += count;
+            for (int label = 0; label < labelDaily.length; label++) {
+                if ((mask & (1 << label)) != 0) {
+                    labelDaily[label][day] += count;
+                }
             }
         }
 
-        // Calculate daily counts per label
-        for (String label : byLabel.keySet()) {
-            Map<LocalDate, Long> labelDailyCounts = violations.stream()
-                    .filter(v -> v.getLabels().contains(label))
-                    .collect(Collectors.groupingBy(
-                            v -> v.getTimestamp().toLocalDate(),
-                            Collectors.counting()));
-
-            List<TimeSeriesStats.DailyCount> labelCounts = new ArrayList<>();
-            for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
-                labelCounts.add(TimeSeriesStats.DailyCount.builder()
-                        .date(date)
-                        .count(labelDailyCounts.getOrDefault(date, 0L))
-                        .build());
+        List<TimeSeriesStats.DailyCount> counts = dailyCounts(startDate, daily);
+
+        // Only labels that occur in the range
+        Map<String, List<TimeSeriesStats.DailyCount>> byLabel = new LinkedHashMap<>();
+        for (int label = 0; label < labelDaily.length; label++) {
+            if (Arrays.stream(labelDaily[label]).anyMatch(count -> count > 0)) {
+                byLabel.put(ViolationLabels.label(label), dailyCounts(startDate, labelDaily[label]));
             }
-            byLabel.put(label, labelCounts);
         }
 
         return TimeSeriesStats.builder()
@@ -180,18 +219,18 @@ public class StatisticsService {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime monthStart = now.withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
 
-        List<User> employees = userRepository.findByRole(Role.ROLE_EMPLOYEE);
+        List<EmployeeEntry> employees = employeeDirectory.findByRole(Role.ROLE_EMPLOYEE);
         long totalEmployees = employees.size();
 
         // Calculate violation counts for all employees
         List<EmployeeRanking.RankedEmployee> allRanked = new ArrayList<>();
-        for (User employee : employees) {
+        for (EmployeeEntry employee : employees) {
             long count = violationRepository.countByEmployeeIdAndTimestampBetween(
-                    employee.getId(), monthStart, now);
+                    employee.id(), monthStart, now);
             allRanked.add(EmployeeRanking.RankedEmployee.builder()
-                    .employeeId(employee.getId())
-                    .employeeName(employee.getFullName())
-                    .email(employee.getEmail())
+                    .employeeId(employee.id())
+                    .employeeName(employee.fullName())
+                    .email(employee.email())
                     .violationCount(count)
                     .build());
         }
@@ -234,8 +273,7 @@ public class StatisticsService {
     public EmployeeViolationReport getEmployeeViolationReport(Long employeeId) {
         logger.info("Generating detailed report for employee {}", employeeId);
 
-        User employee = userRepository.findById(employeeId)
-                .orElseThrow(() -> new ResourceNotFoundException("Employee", employeeId));
+        EmployeeEntry employee = employeeDirectory.require(employeeId);
 
         EmployeeStats stats = getEmployeeStats(employeeId);
 
@@ -248,52 +286,94 @@ public class StatisticsService {
                 .collect(Collectors.toList());
 
         // Calculate most frequent labels
-        Map<String, Long> labelCounts = new HashMap<>();
+        long[] labelCounts = new long[ViolationLabels.size()];
         for (Violation v : violations) {
-            for (String label : v.getLabels()) {
-                labelCounts.merge(label, 1L, Long::sum);
-            }
+            ViolationLabels.addCounts(v.getLabelMask(), 1, labelCounts);
         }
-        List<String> mostFrequentLabels = labelCounts.entrySet().stream()
-                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+        List<String> mostFrequentLabels = byCountDescending(labelCounts).keySet().stream()
                 .limit(5)
-                .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
 
         return EmployeeViolationReport.builder()
                 .employeeId(employeeId)
-                .employeeName(employee.getFullName())
-                .email(employee.getEmail())
+                .employeeName(employee.fullName())
+                .email(employee.email())
                 .stats(stats)
                 .recentViolations(recentViolations)
                 .mostFrequentLabels(mostFrequentLabels)
                 .build();
     }
 
-    private Map<String, Long> getViolationsByLabel(LocalDateTime start, LocalDateTime end) {
-        List<Object[]> results = violationRepository.findLabelCountByTimeRange(start, end);
-        Map<String, Long> labelCounts = new LinkedHashMap<>();
+    private Map<String, Long> getViolationsByLabel(List<Object[]> maskCounts) {
+        long[] labelCounts = new long[ViolationLabels.size()];
 
-        for (Object[] row : results) {
-            String label = (String) row[0];
-            Long count = ((Number) row[1]).longValue();
-            labelCounts.put(label, count);
+        for (Object[] row : maskCounts) {
+            int mask = ((Number) row[0]).intValue();
+            long count = ((Number) row[1]).longValue();
+            ViolationLabels.addCounts(mask, count, labelCounts);
         }
 
-        return labelCounts;
+        return byCountDescending(labelCounts);
     }
 
-    private Map<String, Long> getTopViolators(LocalDateTime start, LocalDateTime end, int limit) {
-        List<Object[]> results = violationRepository.findTopViolatorsByTimeRange(start, end, limit);
+    /**
+     * The labels with a non-zero count, most frequent first.
+     */
+    private static Map<String, Long> byCountDescending(long[] labelCounts) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        IntStream.range(0, labelCounts.length)
+                .filter(label -> labelCounts[label] > 0)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer label) -> labelCounts[label]).reversed())
+                .forEach(label -> sorted.put(ViolationLabels.label(label), labelCounts[label]));
+        return sorted;
+    }
+
+    private static List<TimeSeriesStats.DailyCount> dailyCounts(LocalDate startDate, long[] counts) {
+        List<TimeSeriesStats.DailyCount> dailyCounts = new ArrayList<>(counts.length);
+        for (int day = 0; day < counts.length; day++) {
+            dailyCounts.add(TimeSeriesStats.DailyCount.builder()
+                    .date(startDate.plusDays(day))
+                    .count(counts[day])
+                    .build());
+        }
+        return dailyCounts;
+    }
+
+    private static LocalDate toLocalDate(Object date) {
+        return date instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) date;
+    }
+
+    private Map<String, Long> getTopViolators(List<Object[]> results) {
         Map<String, Long> topViolators = new LinkedHashMap<>();
 
         for (Object[] row : results) {
             Long employeeId = ((Number) row[0]).longValue();
             Long count = ((Number) row[1]).longValue();
 
-            userRepository.findById(employeeId).ifPresent(user -> topViolators.put(user.getFullName(), count));
+            employeeDirectory.find(employeeId).ifPresent(entry -> topViolators.put(entry.fullName(), count));
         }
 
         return topViolators;
     }
+
+    private <T> CompletableFuture<T> query(Supplier<T> query) {
+        Workload workload = WorkloadContext.current();
+        boolean replicaAllowed = ReplicaContext.isAllowed();
+        QueryTracker.Request request = QueryTracker.currentRequest();
+        return CompletableFuture.supplyAsync(() -> QueryTracker.call(request,
+                () -> ReplicaContext.call(replicaAllowed, () -> WorkloadContext.call(workload, query))), queryExecutor);
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Surface the repository exception as if the query had run on this thread
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package com.ppesafety.api.user.dto;
+
+import com.ppesafety.api.user.entity.Role;
+import com.ppesafety.api.user.entity.User;
+
+/**
+ * Compact, immutable view of a user held by the in-memory employee directory.
+ */
+public record EmployeeEntry(long id, String fullName, String email, Role role) {
+
+    public static EmployeeEntry of(User user) {
+        return new EmployeeEntry(user.getId(), user.getFullName(), user.getEmail(), user.getRole());
+    }
+}
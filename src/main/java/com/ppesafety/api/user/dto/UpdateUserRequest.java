@@ -7,6 +7,7 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Data
 @Builder
@@ -21,6 +22,7 @@ public class UpdateUserRequest {
     private String fullName;
 
     @Size(min = 6, max = 100, message = "Password must be between 6 and 100 characters")
+    @ToString.Exclude
     private String password;
 
     private Role role;
@@ -25,6 +25,7 @@ public class User implements UserDetails {
     @Column(nullable = false, unique = true, length = 50)
     private String username;
 
+    @ToString.Exclude
     @Column(nullable = false)
     private String password;
 
@@ -1,5 +1,6 @@
 package com.ppesafety.api.user.repository;
 
+import com.ppesafety.api.user.dto.EmployeeEntry;
 import com.ppesafety.api.user.entity.Role;
 import com.ppesafety.api.user.entity.User;
 import org.springframework.data.domain.Page;
@@ -45,4 +46,12 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     // Get all users with pagination
     Page<User> findAll(Pageable pageable);
+
+    // Lightweight projections for the in-memory employee directory
+    @Query("SELECT new com.ppesafety.api.user.dto.EmployeeEntry(u.id, u.fullName, u.email, u.role) FROM User u")
+    List<EmployeeEntry> findAllDirectoryEntries();
+
+    @Query("SELECT new com.ppesafety.api.user.dto.EmployeeEntry(u.id, u.fullName, u.email, u.role) " +
+            "FROM User u WHERE u.id = :id")
+    Optional<EmployeeEntry> findDirectoryEntryById(@Param("id") Long id);
 }
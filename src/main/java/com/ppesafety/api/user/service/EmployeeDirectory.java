@@ -0,0 +1,321 @@
+package com.ppesafety.api.user.service;
+
+import com.ppesafety.api.core.exception.ResourceNotFoundException;
+import com.ppesafety.api.user.dto.EmployeeEntry;
+import com.ppesafety.api.user.entity.Role;
+import com.ppesafety.api.user.entity.User;
+import com.ppesafety.api.user.repository.UserRepository;
+import org.mapstruct.Named;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory directory of users (id -> name/email/role) used for name resolution
+ * in statistics and violation mapping without hitting the database.
+ *
+ * Entries are kept in an immutable snapshot of a sorted primitive {@code long[]}
+ * id index with a parallel entry array, so reads are lock-free binary searches.
+ * Writes copy the snapshot and are applied after the surrounding transaction
+ * commits; other nodes are notified through a Redis pub/sub channel and reload
+ * the changed user from the database. Pub/sub is fire-and-forget, so the whole
+ * directory is also reloaded every {@code resync-interval} and whenever the
+ * listener resubscribes after a lost connection. Ids that are in neither the
+ * directory nor the database are remembered for {@code miss-ttl}.
+ */
+@Component
+public class EmployeeDirectory implements MessageListener, SubscriptionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeDirectory.class);
+
+    public static final String CHANNEL = "ppesafety:employee-directory";
+
+    private static final int MAX_MISSES = 10_000;
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Object writeLock = new Object();
+    private final Object reloadLock = new Object();
+    private final Map<Long, Long> misses = new ConcurrentHashMap<>();
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private volatile boolean loaded;
+    // Changes made while a reload reads the database, a null entry for a removal; guarded by writeLock
+    private Map<Long, EmployeeEntry> changedDuringReload;
+
+    @Value("${employee-directory.miss-ttl:PT30S}")
+    private Duration missTtl;
+
+    public EmployeeDirectory(UserRepository userRepository,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        synchronized (reloadLock) {
+            synchronized (writeLock) {
+                changedDuringReload = new HashMap<>();
+            }
+            Snapshot reloaded;
+            try {
+                Map<Long, EmployeeEntry> byId = new HashMap<>();
+                for (EmployeeEntry entry : userRepository.findAllDirectoryEntries()) {
+                    byId.put(entry.id(), entry);
+                }
+                synchronized (writeLock) {
+                    // Applied after their commit, so they are at least as new as what the read returned
+                    changedDuringReload.forEach((id, entry) -> {
+                        if (entry != null) {
+                            byId.put(id, entry);
+                        } else {
+                            byId.remove(id);
+                        }
+                    });
+                    reloaded = Snapshot.of(byId.values());
+                    snapshot = reloaded;
+                    misses.clear();
+                }
+            } finally {
+                synchronized (writeLock) {
+                    changedDuringReload = null;
+                }
+            }
+
+            if (loaded) {
+                logger.debug("Employee directory resynced with {} users", reloaded.ids.length);
+            } else {
+                logger.info("Employee directory loaded with {} users", reloaded.ids.length);
+                loaded = true;
+            }
+        }
+    }
+
+    /**
+     * Catches up on change notifications that were lost, e.g. while Redis was unavailable.
+     */
+    @Scheduled(fixedDelayString = "${employee-directory.resync-interval:PT5M}",
+            initialDelayString = "${employee-directory.resync-interval:PT5M}")
+    public void resync() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            logger.warn("Could not resync the employee directory: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void onChannelSubscribed(byte[] channel, long count) {
+        // Also called when the container resubscribes after a lost connection; notifications may have been missed
+        if (loaded) {
+            logger.info("Employee directory channel resubscribed, resyncing");
+            resync();
+        }
+    }
+
+    /**
+     * Looks up a user, falling back to the database on a miss (e.g. a user created
+     * on another node whose notification has not arrived yet).
+     */
+    public Optional<EmployeeEntry> find(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        EmployeeEntry entry = snapshot.get(id);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        Long missedUntil = misses.get(id);
+        if (missedUntil != null && System.nanoTime() - missedUntil < 0) {
+            return Optional.empty();
+        }
+
+        Optional<EmployeeEntry> stored = userRepository.findDirectoryEntryById(id);
+        if (stored.isPresent()) {
+            put(stored.get());
+        } else {
+            if (misses.size() >= MAX_MISSES) {
+                misses.clear();
+            }
+            misses.put(id, System.nanoTime() + missTtl.toNanos());
+            // The user may have been added since the query; put() clears its miss only if it ran after this
+            if (snapshot.get(id) != null) {
+                misses.remove(id);
+            }
+        }
+        return stored;
+    }
+
+    public EmployeeEntry require(Long id) {
+        return find(id).orElseThrow(() -> new ResourceNotFoundException("Employee", id));
+    }
+
+    @Named("fullName")
+    public String fullName(Long id) {
+        return find(id).map(EmployeeEntry::fullName).orElse(null);
+    }
+
+    public List<EmployeeEntry> findByRole(Role role) {
+        List<EmployeeEntry> result = new ArrayList<>();
+        for (EmployeeEntry entry : snapshot.entries) {
+            if (entry.role() == role) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return snapshot.ids.length;
+    }
+
+    public void userSaved(User user) {
+        EmployeeEntry entry = EmployeeEntry.of(user);
+        afterCommit(() -> {
+            put(entry);
+            publish(entry.id());
+        });
+    }
+
+    public void userDeleted(Long id) {
+        afterCommit(() -> {
+            remove(id);
+            publish(id);
+        });
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(':');
+        if (separator < 0 || body.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+
+        long id = Long.parseLong(body.substring(separator + 1));
+        userRepository.findDirectoryEntryById(id)
+                .ifPresentOrElse(this::put, () -> remove(id));
+        logger.debug("Employee directory refreshed user {} from remote notification", id);
+    }
+
+    private void put(EmployeeEntry entry) {
+        synchronized (writeLock) {
+            misses.remove(entry.id());
+            if (changedDuringReload != null) {
+                changedDuringReload.put(entry.id(), entry);
+            }
+            Snapshot current = snapshot;
+            int index = Arrays.binarySearch(current.ids, entry.id());
+            if (index >= 0) {
+                EmployeeEntry[] entries = current.entries.clone();
+                entries[index] = entry;
+                snapshot = new Snapshot(current.ids, entries);
+                return;
+            }
+
+            int insertAt = -index - 1;
+            int size = current.ids.length;
+            long[] ids = new long[size + 1];
+            EmployeeEntry[] entries = new EmployeeEntry[size + 1];
+            System.arraycopy(current.ids, 0, ids, 0, insertAt);
+            System.arraycopy(current.entries, 0, entries, 0, insertAt);
+            ids[insertAt] = entry.id();
+            entries[insertAt] = entry;
+            System.arraycopy(current.ids, insertAt, ids, insertAt + 1, size - insertAt);
+            System.arraycopy(current.entries, insertAt, entries, insertAt + 1, size - insertAt);
+            snapshot = new Snapshot(ids, entries);
+        }
+    }
+
+    private void remove(long id) {
+        synchronized (writeLock) {
+            if (changedDuringReload != null) {
+                changedDuringReload.put(id, null);
+            }
+            Snapshot current = snapshot;
+            int index = Arrays.binarySearch(current.ids, id);
+            if (index < 0) {
+                return;
+            }
+
+            int size = current.ids.length;
+            long[] ids = new long[size - 1];
+            EmployeeEntry[] entries = new EmployeeEntry[size - 1];
+            System.arraycopy(current.ids, 0, ids, 0, index);
+            System.arraycopy(current.entries, 0, entries, 0, index);
+            System.arraycopy(current.ids, index + 1, ids, index, size - index - 1);
+            System.arraycopy(current.entries, index + 1, entries, index, size - index - 1);
+            snapshot = new Snapshot(ids, entries);
+        }
+    }
+
+    private void publish(long id) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, nodeId + ":" + id);
+        } catch (Exception e) {
+            logger.warn("Could not publish employee directory change for user {}: {}", id, e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private record Snapshot(long[] ids, EmployeeEntry[] entries) {
+
+        static final Snapshot EMPTY = new Snapshot(new long[0], new EmployeeEntry[0]);
+
+        static Snapshot of(Collection<EmployeeEntry> unsorted) {
+            EmployeeEntry[] entries = unsorted.toArray(new EmployeeEntry[0]);
+            Arrays.sort(entries, Comparator.comparingLong(EmployeeEntry::id));
+            long[] ids = new long[entries.length];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = entries[i].id();
+            }
+            return new Snapshot(ids, entries);
+        }
+
+        EmployeeEntry get(long id) {
+            int index = Arrays.binarySearch(ids, id);
+            return index >= 0 ? entries[index] : null;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.ppesafety.api.user.service;
 
 import com.ppesafety.api.core.annotation.Auditable;
+import com.ppesafety.api.core.annotation.ReplicaReads;
 import com.ppesafety.api.core.exception.BadRequestException;
 import com.ppesafety.api.core.exception.ResourceNotFoundException;
 import com.ppesafety.api.user.dto.CreateUserRequest;
@@ -27,6 +28,7 @@ import java.util.List;
 
 @Service
 @Transactional
+@ReplicaReads
 public class UserService implements UserDetailsService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
@@ -34,11 +36,14 @@ public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
+    private final EmployeeDirectory employeeDirectory;
 
-    public UserService(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, UserMapper userMapper, PasswordEncoder passwordEncoder,
+            EmployeeDirectory employeeDirectory) {
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.passwordEncoder = passwordEncoder;
+        this.employeeDirectory = employeeDirectory;
     }
 
     @Override
@@ -84,6 +89,7 @@ public class UserService implements UserDetailsService {
         user.setPassword(passwordEncoder.encode(request.getPassword()));
 
         User savedUser = userRepository.save(user);
+        employeeDirectory.userSaved(savedUser);
         logger.info("Created user: {}", savedUser.getUsername());
 
         return userMapper.toDto(savedUser);
@@ -114,6 +120,7 @@ public class UserService implements UserDetailsService {
         }
 
         User updatedUser = userRepository.save(user);
+        employeeDirectory.userSaved(updatedUser);
         logger.info("Updated user: {}", updatedUser.getUsername());
 
         return userMapper.toDto(updatedUser);
@@ -125,6 +132,7 @@ public class UserService implements UserDetailsService {
             throw new ResourceNotFoundException("User", id);
         }
         userRepository.deleteById(id);
+        employeeDirectory.userDeleted(id);
         logger.info("Deleted user with id: {}", id);
     }
 
@@ -138,7 +146,9 @@ public class UserService implements UserDetailsService {
     }
 
     public User save(User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        employeeDirectory.userSaved(savedUser);
+        return savedUser;
     }
 
     // ========== SEARCH & PAGINATION FOR ADMIN DASHBOARD ==========
@@ -1,10 +1,10 @@
 package com.ppesafety.api.violation.controller;
 
 import com.ppesafety.api.core.dto.ApiResponse;
-import com.ppesafety.api.core.service.FileStorageService;
 import com.ppesafety.api.user.entity.User;
 import com.ppesafety.api.violation.dto.CreateViolationRequest;
 import com.ppesafety.api.violation.dto.ViolationDto;
+import com.ppesafety.api.violation.service.ViolationIngestService;
 import com.ppesafety.api.violation.service.ViolationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -31,11 +31,11 @@ import java.util.Set;
 public class ViolationController {
 
         private final ViolationService violationService;
-        private final FileStorageService fileStorageService;
+        private final ViolationIngestService violationIngestService;
 
-        public ViolationController(ViolationService violationService, FileStorageService fileStorageService) {
+        public ViolationController(ViolationService violationService, ViolationIngestService violationIngestService) {
                 this.violationService = violationService;
-                this.fileStorageService = fileStorageService;
+                this.violationIngestService = violationIngestService;
         }
 
         @GetMapping
@@ -101,9 +101,12 @@ public class ViolationController {
         // ========== NEW: Create violation with file upload ==========
         @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
         @PreAuthorize("hasAnyRole('ADMIN', 'SAFETY_SPECIALIST')")
-        @Operation(summary = "Create violation with image upload", description = "Records a new violation with image file. Admin and Safety Specialist only.")
+        @Operation(summary = "Create violation with image upload", description = "Records a new violation with image file. Admin and Safety Specialist only. "
+                        + "Labels must be distinct; they are returned in the order of GET /api/violations/labels, "
+                        + "not in the order sent.")
         @ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "201", description = "Violation created successfully"),
+                        @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Near-duplicate frame merged into an existing violation"),
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Invalid request"),
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "403", description = "Access denied")
         })
@@ -115,28 +118,24 @@ public class ViolationController {
                         @RequestParam(value = "timestamp", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime timestamp,
                         @AuthenticationPrincipal User currentUser) {
 
-                // Store file and get filename
-                String filename = fileStorageService.storeFile(image);
-                String imageUrl = "/uploads/" + filename;
+                // Store file and create the violation, or merge a near-duplicate frame
+                ViolationIngestService.IngestResult result = violationIngestService.ingest(
+                                image, labels, employeeId, location, timestamp, currentUser);
 
-                // Create request
-                CreateViolationRequest request = CreateViolationRequest.builder()
-                                .imageUrl(imageUrl)
-                                .labels(labels)
-                                .employeeId(employeeId)
-                                .location(location)
-                                .timestamp(timestamp != null ? timestamp : LocalDateTime.now())
-                                .build();
-
-                ViolationDto violation = violationService.createViolation(request, currentUser);
+                if (result.merged()) {
+                        return ResponseEntity.ok(ApiResponse.success(result.violation(),
+                                        "Duplicate frame merged into existing violation"));
+                }
                 return ResponseEntity.status(HttpStatus.CREATED)
-                                .body(ApiResponse.success(violation, "Violation recorded successfully"));
+                                .body(ApiResponse.success(result.violation(), "Violation recorded successfully"));
         }
 
         // Keep old JSON endpoint for backwards compatibility
         @PostMapping(path = "/json", consumes = MediaType.APPLICATION_JSON_VALUE)
         @PreAuthorize("hasAnyRole('ADMIN', 'SAFETY_SPECIALIST')")
-        @Operation(summary = "Create violation (JSON)", description = "Records a new violation with imageUrl. Legacy endpoint.")
+        @Operation(summary = "Create violation (JSON)", description = "Records a new violation with imageUrl. Legacy endpoint. "
+                        + "Labels must be distinct; they are returned in the order of GET /api/violations/labels, "
+                        + "not in the order sent.")
         public ResponseEntity<ApiResponse<ViolationDto>> createViolationJson(
                         @Valid @RequestBody CreateViolationRequest request,
                         @AuthenticationPrincipal User currentUser) {
@@ -159,7 +158,7 @@ public class ViolationController {
         }
 
         @GetMapping("/labels")
-        @Operation(summary = "Get allowed labels", description = "Returns the list of allowed violation labels")
+        @Operation(summary = "Get allowed labels", description = "Returns the list of allowed violation labels, in the order violations report them")
         @ApiResponses(value = {
                         @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "200", description = "Labels retrieved successfully")
         })
@@ -1,5 +1,6 @@
 package com.ppesafety.api.violation.dto;
 
+import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
@@ -20,6 +21,8 @@ public class CreateViolationRequest {
     @NotBlank(message = "Image URL is required")
     private String imageUrl;
 
+    @Schema(description = "Distinct labels from GET /api/violations/labels; stored as a set and returned in that "
+            + "endpoint's order")
     @NotEmpty(message = "At least one label is required")
     private List<String> labels;
 
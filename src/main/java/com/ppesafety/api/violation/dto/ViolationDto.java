@@ -23,4 +23,6 @@ public class ViolationDto {
     private String reportedByName;
     private String location;
     private LocalDateTime timestamp;
+    private int occurrenceCount;
+    private LocalDateTime lastOccurrenceAt;
 }
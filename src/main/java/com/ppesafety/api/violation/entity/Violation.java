@@ -1,12 +1,11 @@
 package com.ppesafety.api.violation.entity;
 
 import com.ppesafety.api.user.entity.User;
-import io.hypersistence.utils.hibernate.type.json.JsonType;
 import jakarta.persistence.*;
 import lombok.*;
-import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Entity
@@ -24,16 +23,18 @@ public class Violation {
     @Column(name = "image_url", nullable = false, length = 500)
     private String imageUrl;
 
-    @Type(JsonType.class)
-    @Column(name = "labels", columnDefinition = "jsonb", nullable = false)
-    private List<String> labels;
+    // One bit per label, see ViolationLabels
+    @Column(name = "label_mask", nullable = false)
+    private short labelMask;
 
+    // The foreign keys are created by the changelog; schema update does not see them on the partitioned
+    // table and would add duplicates on every start
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "employee_id", nullable = false)
+    @JoinColumn(name = "employee_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User employee;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "reported_by_id", nullable = false)
+    @JoinColumn(name = "reported_by_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private User reportedBy;
 
     @Column(length = 200)
@@ -42,10 +43,34 @@ public class Violation {
     @Column(nullable = false)
     private LocalDateTime timestamp;
 
+    // Number of merged duplicate reports (near-identical frames / repeat detections)
+    @Builder.Default
+    @Column(name = "occurrence_count", nullable = false)
+    private int occurrenceCount = 1;
+
+    @Column(name = "last_occurrence_at")
+    private LocalDateTime lastOccurrenceAt;
+
+    public List<String> getLabels() {
+        return ViolationLabels.decode(labelMask);
+    }
+
+    public void setLabels(Collection<String> labels) {
+        this.labelMask = ViolationLabels.encode(labels);
+    }
+
     @PrePersist
     protected void onCreate() {
         if (timestamp == null) {
             timestamp = LocalDateTime.now();
         }
     }
+
+    public static class ViolationBuilder {
+
+        public ViolationBuilder labels(Collection<String> labels) {
+            this.labelMask = ViolationLabels.encode(labels);
+            return this;
+        }
+    }
 }
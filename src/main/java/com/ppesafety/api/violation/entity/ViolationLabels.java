@@ -0,0 +1,81 @@
+package com.ppesafety.api.violation.entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The label dictionary behind {@link Violation#getLabelMask()}: the label at
+ * position {@code i} is bit {@code 1 << i} of the mask.
+ *
+ * Masks are stored, so labels may only be appended, never reordered or
+ * removed, and a smallint holds at most 15 of them. Changelog 007 carries the
+ * same mapping for the rows it converted.
+ */
+public final class ViolationLabels {
+
+    private static final List<String> DICTIONARY = List.of(
+            "Helmet", "Vest", "Head", "Person", "No Helmet", "No Vest");
+
+    public static final Set<String> ALL = Collections.unmodifiableSet(new LinkedHashSet<>(DICTIONARY));
+
+    static {
+        if (DICTIONARY.size() > Short.SIZE - 1) {
+            throw new IllegalStateException("A label mask holds at most " + (Short.SIZE - 1) + " labels");
+        }
+    }
+
+    private ViolationLabels() {
+    }
+
+    public static int size() {
+        return DICTIONARY.size();
+    }
+
+    public static String label(int index) {
+        return DICTIONARY.get(index);
+    }
+
+    public static short bit(String label) {
+        int index = DICTIONARY.indexOf(label);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown violation label: " + label);
+        }
+        return (short) (1 << index);
+    }
+
+    public static short encode(Collection<String> labels) {
+        int mask = 0;
+        for (String label : labels) {
+            mask |= bit(label);
+        }
+        return (short) mask;
+    }
+
+    /**
+     * The labels of {@code mask} in dictionary order.
+     */
+    public static List<String> decode(int mask) {
+        List<String> labels = new ArrayList<>(Integer.bitCount(mask));
+        for (int i = 0; i < DICTIONARY.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                labels.add(DICTIONARY.get(i));
+            }
+        }
+        return labels;
+    }
+
+    /**
+     * Adds {@code count} to {@code counts[i]} for every label {@code i} in {@code mask}.
+     */
+    public static void addCounts(int mask, long count, long[] counts) {
+        for (int i = 0; i < counts.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                counts[i] += count;
+            }
+        }
+    }
+}
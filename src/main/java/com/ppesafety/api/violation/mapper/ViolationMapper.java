@@ -1,5 +1,6 @@
 package com.ppesafety.api.violation.mapper;
 
+import com.ppesafety.api.user.service.EmployeeDirectory;
 import com.ppesafety.api.violation.dto.ViolationDto;
 import com.ppesafety.api.violation.entity.Violation;
 import org.mapstruct.Mapper;
@@ -7,13 +8,17 @@ import org.mapstruct.Mapping;
 
 import java.util.List;
 
-@Mapper(componentModel = "spring")
+/**
+ * Names are resolved through the {@link EmployeeDirectory} by id, so the lazy
+ * employee/reportedBy associations are never initialized just for fullName.
+ */
+@Mapper(componentModel = "spring", uses = EmployeeDirectory.class)
 public interface ViolationMapper {
 
     @Mapping(target = "employeeId", source = "employee.id")
-    @Mapping(target = "employeeName", source = "employee.fullName")
+    @Mapping(target = "employeeName", source = "employee.id", qualifiedByName = "fullName")
     @Mapping(target = "reportedById", source = "reportedBy.id")
-    @Mapping(target = "reportedByName", source = "reportedBy.fullName")
+    @Mapping(target = "reportedByName", source = "reportedBy.id", qualifiedByName = "fullName")
     ViolationDto toDto(Violation violation);
 
     List<ViolationDto> toDtoList(List<Violation> violations);
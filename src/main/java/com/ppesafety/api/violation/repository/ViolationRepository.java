@@ -4,6 +4,7 @@ import com.ppesafety.api.violation.entity.Violation;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -40,6 +41,11 @@ public interface ViolationRepository extends JpaRepository<Violation, Long> {
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
 
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Violation v SET v.occurrenceCount = v.occurrenceCount + 1, v.lastOccurrenceAt = :at " +
+            "WHERE v.id = :id")
+    int incrementOccurrence(@Param("id") Long id, @Param("at") LocalDateTime at);
+
     @Query(value = "SELECT v.employee_id, COUNT(*) as violation_count FROM violations v " +
             "WHERE v.timestamp BETWEEN :start AND :end " +
             "GROUP BY v.employee_id ORDER BY violation_count DESC LIMIT :limit", nativeQuery = true)
@@ -48,11 +54,38 @@ public interface ViolationRepository extends JpaRepository<Violation, Long> {
             @Param("end") LocalDateTime end,
             @Param("limit") int limit);
 
-    @Query(value = "SELECT label, COUNT(*) as label_count FROM violations v, " +
-            "jsonb_array_elements_text(v.labels) as label " +
+    /**
+     * Violations per label combination (mask) in the range, answered from the
+     * timestamp index alone; expand the masks with ViolationLabels.
+     */
+    @Query(value = "SELECT v.label_mask, COUNT(*) FROM violations v " +
+            "WHERE v.timestamp BETWEEN :start AND :end " +
+            "GROUP BY v.label_mask", nativeQuery = true)
+    List<Object[]> findLabelMaskCountsByTimeRange(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    /**
+     * Violations per day and label combination (mask) in the range, as
+     * (date, mask, count) rows.
+     */
+    @Query(value = "SELECT CAST(v.timestamp AS DATE), v.label_mask, COUNT(*) FROM violations v " +
             "WHERE v.timestamp BETWEEN :start AND :end " +
-            "GROUP BY label ORDER BY label_count DESC", nativeQuery = true)
-    List<Object[]> findLabelCountByTimeRange(
+            "GROUP BY 1, 2", nativeQuery = true)
+    List<Object[]> findDailyLabelMaskCounts(
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
+
+    /**
+     * Total, week and month counts for one employee in a single index scan, as one row.
+     */
+    @Query(value = "SELECT COUNT(*), " +
+            "COUNT(*) FILTER (WHERE v.timestamp BETWEEN :weekStart AND :end), " +
+            "COUNT(*) FILTER (WHERE v.timestamp BETWEEN :monthStart AND :end) " +
+            "FROM violations v WHERE v.employee_id = :employeeId", nativeQuery = true)
+    List<Object[]> findEmployeeCounts(
+            @Param("employeeId") Long employeeId,
+            @Param("weekStart") LocalDateTime weekStart,
+            @Param("monthStart") LocalDateTime monthStart,
+            @Param("end") LocalDateTime end);
 }
@@ -0,0 +1,215 @@
+package com.ppesafety.api.violation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory, time-windowed index of recent camera frames used to suppress
+ * near-duplicate violations.
+ *
+ * Frames are compared with a 64-bit difference hash (dHash): the image is
+ * reduced to a 9x8 grid of average luminance and each bit records whether a cell
+ * is brighter than its right neighbour. Two frames whose hashes differ in at most
+ * {@code max-distance} bits within the window for the same employee, location
+ * and label set are treated as the same violation.
+ */
+@Component
+public class FrameDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(FrameDeduplicator.class);
+
+    // Decode at roughly this many pixels on the long edge; enough detail for a 9x8 hash
+    private static final int DECODE_TARGET = 256;
+
+    @Value("${violation.dedup.image.enabled:true}")
+    private boolean enabled;
+
+    @Value("${violation.dedup.image.window:60s}")
+    private Duration window;
+
+    @Value("${violation.dedup.image.max-distance:8}")
+    private int maxDistance;
+
+    @Value("${violation.dedup.image.max-frames-per-key:16}")
+    private int maxFramesPerKey;
+
+    private final Map<FrameKey, FrameWindow> windows = new ConcurrentHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Computes the perceptual hash of an encoded image, or empty if it cannot be decoded.
+     */
+    public OptionalLong hash(byte[] encodedImage) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(encodedImage))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return OptionalLong.empty();
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longEdge = Math.max(reader.getWidth(0), reader.getHeight(0));
+                int step = Math.max(1, longEdge / DECODE_TARGET);
+
+                // Subsampled decode avoids materializing full-resolution frames just to hash them
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return OptionalLong.of(differenceHash(reader.read(0, param)));
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Could not hash image: {}", e.getMessage());
+            return OptionalLong.empty();
+        }
+    }
+
+    /**
+     * Returns the window for this employee, location and label set, locked; the
+     * caller must {@link FrameWindow#unlock()} it.
+     */
+    public FrameWindow lockWindow(long employeeId, String location, short labelMask) {
+        FrameKey key = new FrameKey(employeeId, location == null ? "" : location, labelMask);
+        while (true) {
+            FrameWindow frameWindow = windows.computeIfAbsent(key, k -> new FrameWindow());
+            frameWindow.lock.lock();
+            if (!frameWindow.retired) {
+                return frameWindow;
+            }
+            // Evicted between lookup and lock; frames registered there would be invisible to the next upload
+            frameWindow.lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${violation.dedup.image.sweep-interval:PT1M}")
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - window.toMillis();
+        for (Map.Entry<FrameKey, FrameWindow> entry : windows.entrySet()) {
+            FrameWindow frameWindow = entry.getValue();
+            // A locked window is in use; it is looked at again on the next sweep
+            if (!frameWindow.lock.tryLock()) {
+                continue;
+            }
+            try {
+                if (frameWindow.lastSeenAt < cutoff) {
+                    frameWindow.retired = true;
+                    windows.remove(entry.getKey(), frameWindow);
+                }
+            } finally {
+                frameWindow.lock.unlock();
+            }
+        }
+    }
+
+    static long differenceHash(BufferedImage image) {
+        // Box-average luminance into a 9x8 grid; averaging (unlike point sampling) is robust to sensor noise
+        int width = image.getWidth();
+        int height = image.getHeight();
+        long[] sums = new long[9 * 8];
+        int[] counts = new int[9 * 8];
+        int[] row = new int[width];
+        for (int y = 0; y < height; y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            int cellY = y * 8 / height;
+            for (int x = 0; x < width; x++) {
+                int rgb = row[x];
+                int luma = (((rgb >> 16) & 0xff) * 299 + ((rgb >> 8) & 0xff) * 587 + (rgb & 0xff) * 114) / 1000;
+                int cell = cellY * 9 + x * 9 / width;
+                sums[cell] += luma;
+                counts[cell]++;
+            }
+        }
+
+        long hash = 0;
+        for (int y = 0; y < 8; y++) {
+            for (int x = 0; x < 8; x++) {
+                int cell = y * 9 + x;
+                long left = sums[cell] * counts[cell + 1];
+                long right = sums[cell + 1] * counts[cell];
+                hash = (hash << 1) | (left > right ? 1 : 0);
+            }
+        }
+        return hash;
+    }
+
+    private record FrameKey(long employeeId, String location, short labelMask) {
+    }
+
+    private record Frame(long hash, long violationId, long seenAt) {
+    }
+
+    /**
+     * Recent frames for one employee/location/label set. Callers hold the lock
+     * ({@link #lockWindow}) while matching and registering, so concurrent uploads
+     * of the same burst are serialized and only the first one creates a violation.
+     * The sweeper evicts under the same lock.
+     */
+    public class FrameWindow {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+        // Both guarded by lock
+        private long lastSeenAt = System.currentTimeMillis();
+        private boolean retired;
+
+        public void unlock() {
+            lock.unlock();
+        }
+
+        /**
+         * Returns the violation id of a near-identical frame seen within the window, or null.
+         */
+        public Long match(long hash) {
+            long now = System.currentTimeMillis();
+            long cutoff = now - window.toMillis();
+            while (!frames.isEmpty() && frames.peekFirst().seenAt() < cutoff) {
+                frames.pollFirst();
+            }
+
+            for (Iterator<Frame> it = frames.descendingIterator(); it.hasNext(); ) {
+                Frame frame = it.next();
+                if (Long.bitCount(frame.hash() ^ hash) <= maxDistance) {
+                    // Slide the window so a continuous burst keeps merging into the same violation
+                    it.remove();
+                    add(frame.hash(), frame.violationId(), now);
+                    return frame.violationId();
+                }
+            }
+            return null;
+        }
+
+        public void add(long hash, long violationId, long seenAt) {
+            frames.addLast(new Frame(hash, violationId, seenAt));
+            while (frames.size() > maxFramesPerKey) {
+                frames.pollFirst();
+            }
+            lastSeenAt = seenAt;
+        }
+
+        public void forget(long violationId) {
+            frames.removeIf(frame -> frame.violationId() == violationId);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.ppesafety.api.violation.service;
+
+import com.ppesafety.api.violation.entity.ViolationLabels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suppresses repeat reports of the same employee with the same label set that
+ * arrive within a short window (typically overlapping detectors).
+ *
+ * Each (employee, label set) key maps to the violation it was first recorded
+ * as. Locally this is a {@link ConcurrentHashMap} updated only with atomic
+ * putIfAbsent/replace, so readers never block. When {@code cluster} is enabled
+ * the same key is claimed in Redis with SET NX, so reports landing on different
+ * nodes also resolve to a single violation. A report that finds a live entry is
+ * merged into it; a report that finds a claim still being inserted waits up to
+ * {@code claim-timeout} for it. Every merge extends the window, so a continuous
+ * stream of reports stays one violation.
+ */
+@Component
+public class ViolationDeduplicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViolationDeduplicator.class);
+
+    private static final String KEY_PREFIX = "ppesafety:violation-dedup:";
+    private static final String PENDING_PREFIX = "pending:";
+    private static final long PENDING = -1L;
+    private static final long POLL_INTERVAL_MS = 5;
+
+    private final StringRedisTemplate redisTemplate;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Slot> slots = new ConcurrentHashMap<>();
+
+    @Value("${violation.dedup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${violation.dedup.window:30s}")
+    private Duration window;
+
+    @Value("${violation.dedup.claim-timeout:2s}")
+    private Duration claimTimeout;
+
+    @Value("${violation.dedup.cluster:true}")
+    private boolean cluster;
+
+    public ViolationDeduplicator(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Resolves a report to either an existing violation to merge into, or a
+     * claim the caller owns and must complete with {@link #created}.
+     * Inside a transaction the claim is published on commit and released on
+     * rollback.
+     */
+    public Claim claim(long employeeId, Collection<String> labels) {
+        String key = keyOf(employeeId, labels);
+        long deadline = System.currentTimeMillis() + claimTimeout.toMillis();
+
+        while (true) {
+            long now = System.currentTimeMillis();
+            Slot slot = slots.get(key);
+
+            if (slot == null || slot.expiresAt() <= now) {
+                Slot pending = new Slot(PENDING, now + claimTimeout.toMillis());
+                boolean claimed = slot == null
+                        ? slots.putIfAbsent(key, pending) == null
+                        : slots.replace(key, slot, pending);
+                if (claimed) {
+                    return claimCluster(key, pending, deadline);
+                }
+                continue;
+            }
+
+            if (slot.violationId() != PENDING) {
+                slots.replace(key, slot, new Slot(slot.violationId(), now + window.toMillis()));
+                touchCluster(key);
+                return Claim.duplicate(slot.violationId());
+            }
+
+            // Another request on this node is inserting the first violation for this key
+            if (now >= deadline) {
+                return Claim.unclaimed();
+            }
+            pause();
+        }
+    }
+
+    /**
+     * Records the id of the violation inserted for an owned claim.
+     */
+    public void created(Claim claim, long violationId) {
+        if (claim.key == null) {
+            return;
+        }
+        claim.violationId = violationId;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(claim);
+        }
+    }
+
+    /**
+     * Drops a key whose violation no longer exists, so the next report creates a new one.
+     */
+    public void forget(long employeeId, Collection<String> labels) {
+        String key = keyOf(employeeId, labels);
+        slots.remove(key);
+        if (cluster) {
+            try {
+                redisTemplate.delete(KEY_PREFIX + key);
+            } catch (Exception e) {
+                logger.warn("Could not clear violation dedup key {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${violation.dedup.sweep-interval:PT1M}")
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        slots.entrySet().removeIf(entry -> entry.getValue().expiresAt() <= now);
+    }
+
+    private Claim claimCluster(String key, Slot pending, long deadline) {
+        Claim claim = new Claim(key, pending, false, 0);
+        if (cluster) {
+            String redisKey = KEY_PREFIX + key;
+            String token = PENDING_PREFIX + nodeId;
+            try {
+                while (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                        .setIfAbsent(redisKey, token, claimTimeout))) {
+                    String value = redisTemplate.opsForValue().get(redisKey);
+                    if (value != null && !value.startsWith(PENDING_PREFIX)) {
+                        long violationId = Long.parseLong(value);
+                        slots.replace(key, pending, new Slot(violationId, System.currentTimeMillis()
+                                + window.toMillis()));
+                        redisTemplate.expire(redisKey, window);
+                        return Claim.duplicate(violationId);
+                    }
+                    // Another node is inserting; give up waiting rather than stall ingestion
+                    if (System.currentTimeMillis() >= deadline) {
+                        break;
+                    }
+                    pause();
+                }
+            } catch (Exception e) {
+                logger.warn("Violation dedup falling back to local-only for {}: {}", key, e.getMessage());
+            }
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED && claim.violationId > 0) {
+                        publish(claim);
+                    } else {
+                        release(claim);
+                    }
+                }
+            });
+        }
+        return claim;
+    }
+
+    private void publish(Claim claim) {
+        slots.put(claim.key, new Slot(claim.violationId, System.currentTimeMillis() + window.toMillis()));
+        if (cluster) {
+            try {
+                redisTemplate.opsForValue().set(KEY_PREFIX + claim.key, Long.toString(claim.violationId), window);
+            } catch (Exception e) {
+                logger.warn("Could not publish violation dedup key {}: {}", claim.key, e.getMessage());
+            }
+        }
+    }
+
+    private void release(Claim claim) {
+        slots.remove(claim.key, claim.pending);
+        if (cluster) {
+            try {
+                String redisKey = KEY_PREFIX + claim.key;
+                if ((PENDING_PREFIX + nodeId).equals(redisTemplate.opsForValue().get(redisKey))) {
+                    redisTemplate.delete(redisKey);
+                }
+            } catch (Exception e) {
+                logger.debug("Could not release violation dedup key {}: {}", claim.key, e.getMessage());
+            }
+        }
+    }
+
+    private void touchCluster(String key) {
+        if (cluster) {
+            try {
+                redisTemplate.expire(KEY_PREFIX + key, window.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                logger.debug("Could not extend violation dedup key {}: {}", key, e.getMessage());
+            }
+        }
+    }
+
+    private static String keyOf(long employeeId, Collection<String> labels) {
+        // Label order from detectors is arbitrary; the set, i.e. the mask, is what identifies a repeat
+        return employeeId + ":" + ViolationLabels.encode(labels);
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(POLL_INTERVAL_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for violation dedup claim", e);
+        }
+    }
+
+    private record Slot(long violationId, long expiresAt) {
+    }
+
+    /**
+     * Outcome of {@link #claim}: a duplicate of an existing violation, or an
+     * owned (or, on timeout, unclaimed) slot for a new one.
+     */
+    public static final class Claim {
+
+        private final String key;
+        private final Slot pending;
+        private final boolean duplicate;
+        private volatile long violationId;
+
+        private Claim(String key, Slot pending, boolean duplicate, long violationId) {
+            this.key = key;
+            this.pending = pending;
+            this.duplicate = duplicate;
+            this.violationId = violationId;
+        }
+
+        static Claim duplicate(long violationId) {
+            return new Claim(null, null, true, violationId);
+        }
+
+        static Claim unclaimed() {
+            return new Claim(null, null, false, 0);
+        }
+
+        public boolean isDuplicate() {
+            return duplicate;
+        }
+
+        public long violationId() {
+            return violationId;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.ppesafety.api.violation.service;
+
+import com.ppesafety.api.core.exception.BadRequestException;
+import com.ppesafety.api.core.jfr.IngestPhaseEvent;
+import com.ppesafety.api.core.jfr.ViolationIngestEvent;
+import com.ppesafety.api.core.service.FileStorageService;
+import com.ppesafety.api.user.entity.User;
+import com.ppesafety.api.violation.dto.CreateViolationRequest;
+import com.ppesafety.api.violation.dto.ViolationDto;
+import com.ppesafety.api.violation.entity.ViolationLabels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Camera ingestion path: stores the frame and records the violation, merging
+ * near-duplicate frames of the same employee/location/labels into the existing
+ * violation instead of storing another image and row.
+ *
+ * Deliberately not transactional: the frame window lock must span the
+ * committed insert so a concurrent duplicate can find and update the row.
+ */
+@Service
+public class ViolationIngestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViolationIngestService.class);
+
+    private final ViolationService violationService;
+    private final FileStorageService fileStorageService;
+    private final FrameDeduplicator frameDeduplicator;
+
+    public ViolationIngestService(ViolationService violationService,
+            FileStorageService fileStorageService,
+            FrameDeduplicator frameDeduplicator) {
+        this.violationService = violationService;
+        this.fileStorageService = fileStorageService;
+        this.frameDeduplicator = frameDeduplicator;
+    }
+
+    public IngestResult ingest(MultipartFile image, List<String> labels, Long employeeId, String location,
+            LocalDateTime timestamp, User reportedBy) {
+        ViolationIngestEvent event = new ViolationIngestEvent();
+        event.begin();
+        try {
+            IngestResult result = doIngest(image, labels, employeeId, location, timestamp, reportedBy);
+            event.violationId = result.violation().getId();
+            event.merged = result.merged();
+            event.succeeded = true;
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.employeeId = employeeId != null ? employeeId : 0;
+                event.imageBytes = image != null ? image.getSize() : 0;
+                event.commit();
+            }
+        }
+    }
+
+    private IngestResult doIngest(MultipartFile image, List<String> labels, Long employeeId, String location,
+            LocalDateTime timestamp, User reportedBy) {
+        LocalDateTime occurredAt = timestamp != null ? timestamp : LocalDateTime.now();
+
+        // Before any merge: a merged frame never reaches createViolation's validation
+        ViolationService.validateLabels(labels);
+
+        OptionalLong hash = frameDeduplicator.isEnabled() && employeeId != null
+                ? hashFrame(image, employeeId)
+                : OptionalLong.empty();
+        if (hash.isEmpty()) {
+            return create(image, labels, employeeId, location, occurredAt, reportedBy);
+        }
+
+        FrameDeduplicator.FrameWindow window = frameDeduplicator.lockWindow(employeeId, location,
+                ViolationLabels.encode(labels));
+        try {
+            Long duplicateOf = window.match(hash.getAsLong());
+            if (duplicateOf != null) {
+                ViolationDto merged = violationService.recordOccurrence(duplicateOf, occurredAt);
+                if (merged != null) {
+                    logger.info("Merged near-duplicate frame into violation {} ({} occurrences)",
+                            duplicateOf, merged.getOccurrenceCount());
+                    return new IngestResult(merged, true);
+                }
+                window.forget(duplicateOf);
+            }
+
+            IngestResult result = create(image, labels, employeeId, location, occurredAt, reportedBy);
+            window.add(hash.getAsLong(), result.violation().getId(), System.currentTimeMillis());
+            return result;
+        } finally {
+            window.unlock();
+        }
+    }
+
+    private IngestResult create(MultipartFile image, List<String> labels, Long employeeId, String location,
+            LocalDateTime timestamp, User reportedBy) {
+        String filename = fileStorageService.storeFile(image);
+
+        CreateViolationRequest request = CreateViolationRequest.builder()
+                .imageUrl("/uploads/" + filename)
+                .labels(labels)
+                .employeeId(employeeId)
+                .location(location)
+                .timestamp(timestamp)
+                .build();
+
+        ViolationDto violation;
+        try {
+            violation = violationService.createViolation(request, reportedBy);
+        } catch (RuntimeException e) {
+            // Don't leave an orphaned image behind a rejected violation
+            fileStorageService.deleteFile(filename);
+            throw e;
+        }
+
+        // A repeat report of the same labels was merged into an earlier violation, which keeps its own image
+        if (!request.getImageUrl().equals(violation.getImageUrl())) {
+            fileStorageService.deleteFile(filename);
+            return new IngestResult(violation, true);
+        }
+        return new IngestResult(violation, false);
+    }
+
+    private OptionalLong hashFrame(MultipartFile image, long employeeId) {
+        byte[] bytes = readBytes(image);
+        IngestPhaseEvent event = new IngestPhaseEvent();
+        event.begin();
+        OptionalLong hash = frameDeduplicator.hash(bytes);
+        event.end();
+        if (event.shouldCommit()) {
+            event.phase = IngestPhaseEvent.FRAME_HASH;
+            event.employeeId = employeeId;
+            event.bytes = bytes.length;
+            event.succeeded = hash.isPresent();
+            event.commit();
+        }
+        return hash;
+    }
+
+    private byte[] readBytes(MultipartFile image) {
+        if (image == null || image.isEmpty()) {
+            throw new BadRequestException("File is empty");
+        }
+        try {
+            return image.getBytes();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read uploaded file", e);
+        }
+    }
+
+    public record IngestResult(ViolationDto violation, boolean merged) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.ppesafety.api.violation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly range partitions of {@code violations} (changelog 006).
+ *
+ * Each run creates the partitions for the current month and {@code months-ahead}
+ * following ones, moves rows that landed in the default partition (backfills,
+ * reports with a far-off timestamp) into a partition of their own month, and,
+ * with {@code retention-months} set, detaches the months before it. Detaching
+ * only changes the catalog; the month stays behind as a plain table to archive
+ * or drop.
+ *
+ * Every change runs in its own transaction under an advisory lock, so nodes
+ * take turns, and with a lock timeout, so DDL never queues up behind long
+ * reads (and the reads behind it); a month that times out is retried on the
+ * next run.
+ */
+@Component
+public class ViolationPartitionManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViolationPartitionManager.class);
+
+    private static final String PARENT = "violations";
+    private static final String DEFAULT_PARTITION = "violations_default";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern MONTH_PARTITION = Pattern.compile("violations_(\\d{4})_(\\d{2})");
+    private static final long LOCK_KEY = 0x5050_4556_696f_6c50L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${violation.partitioning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${violation.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${violation.partitioning.retention-months:0}")
+    private int retentionMonths;
+
+    @Value("${violation.partitioning.lock-timeout:5s}")
+    private Duration lockTimeout;
+
+    public ViolationPartitionManager(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+    }
+
+    @Scheduled(fixedDelayString = "${violation.partitioning.interval:PT1H}")
+    public void maintain() {
+        if (!enabled) {
+            return;
+        }
+        YearMonth current = YearMonth.now();
+        try {
+            ensurePartitions(current, current.plusMonths(monthsAhead));
+            List<Timestamp> stragglers = jdbcTemplate.queryForList(
+                    "SELECT DISTINCT date_trunc('month', timestamp) FROM " + DEFAULT_PARTITION, Timestamp.class);
+            for (Timestamp month : stragglers) {
+                ensurePartition(YearMonth.from(month.toLocalDateTime()));
+            }
+            if (retentionMonths > 0) {
+                detachBefore(current.minusMonths(retentionMonths));
+            }
+        } catch (DataAccessException e) {
+            logger.warn("Violation partition maintenance failed, retrying on the next run: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Creates the missing partitions from {@code first} through {@code last},
+     * e.g. ahead of a bulk load so no row goes through the default partition.
+     */
+    public void ensurePartitions(YearMonth first, YearMonth last) {
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            ensurePartition(month);
+        }
+    }
+
+    private void ensurePartition(YearMonth month) {
+        String name = PARENT + "_" + month.format(SUFFIX);
+        String bounds = "FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')";
+        inLockedTransaction(() -> {
+            List<Boolean> existing = jdbcTemplate.queryForList(
+                    "SELECT relispartition FROM pg_class WHERE oid = to_regclass(?)", Boolean.class, name);
+            if (!existing.isEmpty()) {
+                if (!existing.get(0)) {
+                    logger.warn("Table {} exists but is not a partition (detached?); rows for {} stay in {}",
+                            name, month, DEFAULT_PARTITION);
+                }
+                return;
+            }
+
+            Boolean hasStragglers = jdbcTemplate.queryForObject(
+                    "SELECT EXISTS (SELECT 1 FROM " + DEFAULT_PARTITION + " WHERE timestamp >= ? AND timestamp < ?)",
+                    Boolean.class, month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            if (!Boolean.TRUE.equals(hasStragglers)) {
+                jdbcTemplate.execute("CREATE TABLE " + name + " PARTITION OF " + PARENT + " " + bounds);
+                logger.info("Created violation partition {}", name);
+                return;
+            }
+
+            // A new partition may not overlap rows in the default one: take them along
+            jdbcTemplate.execute("CREATE TABLE " + name + " (LIKE " + PARENT + " INCLUDING DEFAULTS)");
+            int moved = jdbcTemplate.update("WITH moved AS (DELETE FROM " + DEFAULT_PARTITION
+                    + " WHERE timestamp >= ? AND timestamp < ? RETURNING *) INSERT INTO " + name
+                    + " SELECT * FROM moved",
+                    month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay());
+            jdbcTemplate.execute("ALTER TABLE " + PARENT + " ATTACH PARTITION " + name + " " + bounds);
+            logger.info("Created violation partition {} with {} rows from {}", name, moved, DEFAULT_PARTITION);
+        });
+    }
+
+    private void detachBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = to_regclass(?) ORDER BY c.relname", String.class, PARENT);
+        for (String name : partitions) {
+            Matcher matcher = MONTH_PARTITION.matcher(name);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(cutoff)) {
+                inLockedTransaction(() -> jdbcTemplate.execute("ALTER TABLE " + PARENT + " DETACH PARTITION " + name));
+                logger.info("Detached violation partition {} (older than {} months); the table is kept", name,
+                        retentionMonths);
+            }
+        }
+    }
+
+    private void inLockedTransaction(Runnable action) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + Math.max(1, lockTimeout.toMillis()));
+            jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(?)::text", String.class, LOCK_KEY);
+            action.run();
+        });
+    }
+}
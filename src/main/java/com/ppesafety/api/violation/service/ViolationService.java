@@ -1,14 +1,19 @@
 package com.ppesafety.api.violation.service;
 
 import com.ppesafety.api.core.annotation.Auditable;
+import com.ppesafety.api.core.annotation.ReplicaReads;
 import com.ppesafety.api.core.exception.BadRequestException;
 import com.ppesafety.api.core.exception.ResourceNotFoundException;
+import com.ppesafety.api.core.jfr.IngestPhaseEvent;
+import com.ppesafety.api.user.dto.EmployeeEntry;
 import com.ppesafety.api.user.entity.Role;
 import com.ppesafety.api.user.entity.User;
 import com.ppesafety.api.user.repository.UserRepository;
+import com.ppesafety.api.user.service.EmployeeDirectory;
 import com.ppesafety.api.violation.dto.CreateViolationRequest;
 import com.ppesafety.api.violation.dto.ViolationDto;
 import com.ppesafety.api.violation.entity.Violation;
+import com.ppesafety.api.violation.entity.ViolationLabels;
 import com.ppesafety.api.violation.mapper.ViolationMapper;
 import com.ppesafety.api.violation.repository.ViolationRepository;
 import org.slf4j.Logger;
@@ -18,34 +23,48 @@ import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 @Service
 @Transactional
+@ReplicaReads
 public class ViolationService {
 
     private static final Logger logger = LoggerFactory.getLogger(ViolationService.class);
 
     // Allowed labels for violations
-    public static final Set<String> ALLOWED_LABELS = new HashSet<>(
-            Arrays.asList("Helmet", "Vest", "Head", "Person", "No Helmet", "No Vest"));
+    public static final Set<String> ALLOWED_LABELS = ViolationLabels.ALL;
 
     private final ViolationRepository violationRepository;
     private final UserRepository userRepository;
+    private final EmployeeDirectory employeeDirectory;
     private final ViolationMapper violationMapper;
+    private final ViolationDeduplicator violationDeduplicator;
+    private final TransactionTemplate transactionTemplate;
 
     public ViolationService(ViolationRepository violationRepository,
             UserRepository userRepository,
-            ViolationMapper violationMapper) {
+            EmployeeDirectory employeeDirectory,
+            ViolationMapper violationMapper,
+            ViolationDeduplicator violationDeduplicator,
+            PlatformTransactionManager transactionManager) {
         this.violationRepository = violationRepository;
         this.userRepository = userRepository;
+        this.employeeDirectory = employeeDirectory;
         this.violationMapper = violationMapper;
+        this.violationDeduplicator = violationDeduplicator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional(readOnly = true)
@@ -76,43 +95,148 @@ public class ViolationService {
         return violationMapper.toDtoList(violationRepository.findByTimestampBetween(start, end));
     }
 
+    /**
+     * Records a violation. A repeat report of the same employee and label set
+     * within the dedup window is merged into the existing violation (its
+     * occurrence count is incremented) and that violation is returned instead.
+     *
+     * Not transactional itself: waiting for another request's dedup claim must
+     * not hold a pool connection, so only the merge or insert runs in a
+     * transaction. The claim is published or released when this method
+     * completes.
+     */
     @Auditable(action = "CREATE_VIOLATION")
     @Caching(evict = {
             @CacheEvict(value = "statistics", allEntries = true),
             @CacheEvict(value = "violations", allEntries = true)
     })
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ViolationDto createViolation(CreateViolationRequest request, User reportedBy) {
-        // Validate labels
-        for (String label : request.getLabels()) {
-            if (!ALLOWED_LABELS.contains(label)) {
-                throw new BadRequestException("Invalid label: " + label + ". Allowed: " + ALLOWED_LABELS);
-            }
-        }
+        IngestPhaseEvent validation = new IngestPhaseEvent();
+        validation.begin();
+        validation.phase = IngestPhaseEvent.VALIDATION;
+        validation.employeeId = request.getEmployeeId() != null ? request.getEmployeeId() : 0;
 
-        User employee = userRepository.findById(request.getEmployeeId())
-                .orElseThrow(() -> new ResourceNotFoundException("Employee", request.getEmployeeId()));
+        EmployeeEntry employee;
+        try {
+            validateLabels(request.getLabels());
 
-        // Validate that the employee has EMPLOYEE role
-        if (employee.getRole() != Role.ROLE_EMPLOYEE) {
-            throw new BadRequestException("User with ID " + request.getEmployeeId() + " is not an employee");
+            employee = employeeDirectory.require(request.getEmployeeId());
+
+            // Validate that the employee has EMPLOYEE role
+            if (employee.role() != Role.ROLE_EMPLOYEE) {
+                throw new BadRequestException("User with ID " + request.getEmployeeId() + " is not an employee");
+            }
+            validation.succeeded = true;
+        } finally {
+            validation.commit();
         }
 
-        Violation violation = Violation.builder()
-                .imageUrl(request.getImageUrl())
-                .labels(request.getLabels())
-                .employee(employee)
-                .reportedBy(reportedBy)
-                .location(request.getLocation())
-                .timestamp(request.getTimestamp() != null ? request.getTimestamp() : LocalDateTime.now())
-                .build();
+        LocalDateTime timestamp = request.getTimestamp() != null ? request.getTimestamp() : LocalDateTime.now();
+
+        ViolationDeduplicator.Claim claim = null;
+        if (violationDeduplicator.isEnabled()) {
+            claim = violationDeduplicator.claim(employee.id(), request.getLabels());
+            if (claim.isDuplicate()) {
+                ViolationDto merged = mergeOccurrence(claim.violationId(), timestamp);
+                if (merged != null) {
+                    return merged;
+                }
+                // The earlier violation was deleted in the meantime; record this one as new
+                violationDeduplicator.forget(employee.id(), request.getLabels());
+                claim = violationDeduplicator.claim(employee.id(), request.getLabels());
+                if (claim.isDuplicate()) {
+                    merged = mergeOccurrence(claim.violationId(), timestamp);
+                    if (merged != null) {
+                        return merged;
+                    }
+                    claim = null;
+                }
+            }
+        }
 
-        Violation saved = violationRepository.save(violation);
+        ViolationDeduplicator.Claim owned = claim;
+        Violation saved = transactionTemplate.execute(status -> {
+            Violation violation = Violation.builder()
+                    .imageUrl(request.getImageUrl())
+                    .labels(request.getLabels())
+                    .employee(userRepository.getReferenceById(employee.id()))
+                    .reportedBy(reportedBy)
+                    .location(request.getLocation())
+                    .timestamp(timestamp)
+                    .build();
+
+            Violation inserted = violationRepository.save(violation);
+            if (owned != null) {
+                violationDeduplicator.created(owned, inserted.getId());
+            }
+            recordCommitPhase(employee.id());
+            return inserted;
+        });
         logger.info("Created violation {} for employee {} by {}",
-                saved.getId(), employee.getUsername(), reportedBy.getUsername());
+                saved.getId(), employee.fullName(), reportedBy.getUsername());
 
         return violationMapper.toDto(saved);
     }
 
+    /**
+     * Merges a duplicate report into an existing violation.
+     *
+     * @return the updated violation, or null if it no longer exists
+     */
+    @Caching(evict = {
+            @CacheEvict(value = "statistics", allEntries = true),
+            @CacheEvict(value = "violations", allEntries = true)
+    })
+    public ViolationDto recordOccurrence(Long id, LocalDateTime at) {
+        if (violationRepository.incrementOccurrence(id, at) == 0) {
+            return null;
+        }
+        logger.debug("Merged duplicate report into violation {}", id);
+        return violationRepository.findById(id).map(violationMapper::toDto).orElse(null);
+    }
+
+    private ViolationDto mergeOccurrence(Long id, LocalDateTime at) {
+        return transactionTemplate.execute(status -> recordOccurrence(id, at));
+    }
+
+    /**
+     * Labels are stored as a bitmask, so a violation cannot keep duplicates or the
+     * order they were sent in; duplicates are rejected rather than silently dropped.
+     */
+    public static void validateLabels(Collection<String> labels) {
+        Set<String> seen = new HashSet<>();
+        for (String label : labels) {
+            if (!ALLOWED_LABELS.contains(label)) {
+                throw new BadRequestException("Invalid label: " + label + ". Allowed: " + ALLOWED_LABELS);
+            }
+            if (!seen.add(label)) {
+                throw new BadRequestException("Duplicate label: " + label);
+            }
+        }
+    }
+
+    private void recordCommitPhase(long employeeId) {
+        IngestPhaseEvent commit = new IngestPhaseEvent();
+        if (!commit.isEnabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                commit.begin();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                commit.phase = IngestPhaseEvent.DB_COMMIT;
+                commit.employeeId = employeeId;
+                commit.succeeded = status == STATUS_COMMITTED;
+                commit.commit();
+            }
+        });
+    }
+
     @Auditable(action = "DELETE_VIOLATION")
     @Caching(evict = {
             @CacheEvict(value = "statistics", allEntries = true),
@@ -0,0 +1,17 @@
+-- Returns tokens a node reserved but did not use.
+-- KEYS[1] bucket; ARGV capacity, period (ms), returned
+local capacity = tonumber(ARGV[1])
+local period = tonumber(ARGV[2])
+local returned = tonumber(ARGV[3])
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+if tokens == nil then
+    -- Bucket already expired, i.e. full
+    return 0
+end
+
+tokens = math.min(capacity, tokens + returned)
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens))
+redis.call('PEXPIRE', KEYS[1], period * 2)
+return 1
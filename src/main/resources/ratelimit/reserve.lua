@@ -0,0 +1,37 @@
+-- Token bucket shared by all nodes. Refills continuously at capacity/period,
+-- then grants up to the requested number of tokens.
+-- KEYS[1] bucket; ARGV capacity, period (ms), requested
+-- Returns {granted, ms until the next token is available}
+local capacity = tonumber(ARGV[1])
+local period = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(state[1])
+local ts = tonumber(state[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+if now > ts then
+    tokens = tokens + (now - ts) * capacity / period
+    ts = now
+end
+if tokens > capacity then
+    tokens = capacity
+end
+
+local granted = math.min(requested, math.floor(tokens))
+tokens = tokens - granted
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(ts))
+redis.call('PEXPIRE', KEYS[1], period * 2)
+
+local wait = 0
+if tokens < 1 then
+    wait = math.ceil((1 - tokens) * period / capacity)
+end
+return {granted, wait}